@@ -0,0 +1,67 @@
+package net.neoforged.moddevgradle.internal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.neoforged.moddevgradle.internal.utils.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escaping and writing arguments is what every run and test preparation does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunUtilsBenchmark {
+    private final List<String> arguments = new ArrayList<>();
+    private Path argFile;
+
+    @Setup
+    public void setup() throws IOException {
+        // A mix of the arguments found in typical argument files
+        for (var i = 0; i < 100; i++) {
+            arguments.add("-Dsome.property" + i + "=value");
+            arguments.add("-Dpath" + i + "=C:\\Users\\Some User\\.gradle\\caches\\modules-2\\files-2.1\\library" + i + ".jar");
+            arguments.add("--flag" + i);
+            arguments.add("value with # and \"quotes\"");
+        }
+        argFile = Files.createTempFile("args", ".txt");
+    }
+
+    @TearDown
+    public void deleteArgFile() throws IOException {
+        Files.deleteIfExists(argFile);
+    }
+
+    @Benchmark
+    public List<String> escapeJvmArgs() {
+        var result = new ArrayList<String>(arguments.size());
+        for (var argument : arguments) {
+            result.add(RunUtils.escapeJvmArg(argument));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Path writeArgFile() throws IOException {
+        FileUtils.writeLinesSafe(argFile, escapeJvmArgs(), StandardCharsets.UTF_8);
+        return argFile;
+    }
+}
@@ -0,0 +1,55 @@
+package net.neoforged.moddevgradle.internal;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The userdev config is read by every run and test preparation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDevConfigBenchmark {
+    private byte[] config;
+
+    @Setup
+    public void readConfig() {
+        // Shaped like the config published by NeoForge, with the run types that it contains
+        var runs = new StringBuilder();
+        for (var runType : new String[] { "client", "server", "clientData", "serverData", "gameTestServer", "junit" }) {
+            if (!runs.isEmpty()) {
+                runs.append(',');
+            }
+            runs.append("""
+                    "%s": {
+                      "singleInstance": false,
+                      "main": "cpw.mods.bootstraplauncher.BootstrapLauncher",
+                      "args": ["--launchTarget", "forgeclientuserdev", "--version", "{version}", "--assetIndex", "{asset_index}", "--assetsDir", "{assets_root}"],
+                      "jvmArgs": ["-p", "{modules}", "--add-modules", "ALL-MODULE-PATH", "--add-opens", "java.base/java.util.jar=cpw.mods.securejarhandler", "--add-exports", "jdk.naming.dns/com.sun.jndi.dns=java.naming"],
+                      "env": {"MOD_CLASSES": "{source_roots}"},
+                      "props": {"java.net.preferIPv6Addresses": "system", "ignoreList": "securejarhandler-,asm-,bootstraplauncher-,JarJarFileSystems-,client-extra,fmlcore,javafmllanguage,lowcodelanguage,mclanguage,forge-,", "mergeModules": "jna-5.10.0.jar,jna-platform-5.10.0.jar", "fml.pluginLayerLibraries": "", "fml.gameLayerLibraries": "", "net.minecraftforge.gradle.GradleStart.srg.srg-mcp": "{mcp_to_srg}"}
+                    }
+                    """.formatted(runType));
+        }
+        config = ("{\"runs\": {" + runs + "}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public UserDevConfig parse() {
+        return UserDevConfig.from(new ByteArrayInputStream(config));
+    }
+}
@@ -0,0 +1,101 @@
+package net.neoforged.moddevgradle.internal.jarjar;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.artifacts.VersionConstraint;
+import org.gradle.api.artifacts.component.ComponentArtifactIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentSelector;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.artifacts.result.ResolvedVariantResult;
+import org.gradle.api.capabilities.Capability;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Processes the dependency graph of a Jar-in-Jar configuration into the artifacts to embed, which runs whenever
+ * the jarJar task is executed or its inputs are fingerprinted.
+ * <p>
+ * The resolution results are simulated with proxies of Gradle's result interfaces. Every second dependency
+ * requests a version range, the others a single version.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JarJarArtifactsBenchmark {
+    @Param({ "5", "50" })
+    public int dependencyCount;
+
+    private Set<ResolvedComponentResult> rootComponents;
+    private Set<ResolvedArtifactResult> artifacts;
+
+    @Setup
+    public void createGraph() {
+        var dependencies = new LinkedHashSet<DependencyResult>();
+        artifacts = new LinkedHashSet<>();
+        for (var i = 0; i < dependencyCount; i++) {
+            var group = "org.example";
+            var module = "library" + i;
+            var version = "1.0." + i;
+            var requestedVersion = i % 2 == 0 ? "[1.0," + (i + 2) + ".0)" : version;
+
+            var componentId = fake(ModuleComponentIdentifier.class, Map.of("getGroup", group, "getModule", module, "getVersion", version));
+            var capability = fake(Capability.class, Map.of("getGroup", group, "getName", module, "getVersion", version));
+            var variant = fake(ResolvedVariantResult.class, Map.of("getOwner", componentId, "getCapabilities", List.of(capability)));
+            var constraint = fake(VersionConstraint.class, Map.of("getStrictVersion", "", "getRequiredVersion", requestedVersion, "getPreferredVersion", ""));
+            var moduleId = fake(ModuleIdentifier.class, Map.of("getGroup", group, "getName", module));
+            var selector = fake(ModuleComponentSelector.class, Map.of("getModuleIdentifier", moduleId, "getVersionConstraint", constraint, "getVersion", requestedVersion));
+            dependencies.add(fake(ResolvedDependencyResult.class, Map.of("getRequested", selector, "getResolvedVariant", variant)));
+
+            var artifactId = fake(ComponentArtifactIdentifier.class, Map.of("getComponentIdentifier", componentId));
+            var file = new File(module + "-" + version + ".jar");
+            artifacts.add(fake(ResolvedArtifactResult.class, Map.of("getId", artifactId, "getFile", file, "getVariant", variant)));
+        }
+        rootComponents = new HashSet<>(List.of(fake(ResolvedComponentResult.class, Map.of("getDependencies", dependencies))));
+    }
+
+    @Benchmark
+    public List<ResolvedJarJarArtifact> getIncludedJars() {
+        return JarJarArtifacts.getIncludedJars(rootComponents, artifacts);
+    }
+
+    /**
+     * Implements an interface by returning the given values from its getters.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(Class<T> type, Map<String, Object> values) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> type.getSimpleName() + values;
+            default -> {
+                if (!values.containsKey(method.getName())) {
+                    throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+                }
+                yield values.get(method.getName());
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package net.neoforged.moddevgradle.internal.jarjar;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import net.neoforged.jarjar.metadata.Metadata;
+import net.neoforged.jarjar.metadata.MetadataIOHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creates the Jar-in-Jar metadata the same way the jarJar task does, which includes reading the manifest of every
+ * embedded jar.
+ *
+ * @see JarJarArtifactsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JarJarMetadataBenchmark {
+    @Param({ "5", "50" })
+    public int artifactCount;
+
+    private Path directory;
+    private final List<ResolvedJarJarArtifact> artifacts = new ArrayList<>();
+
+    @Setup
+    public void createArtifacts() throws IOException {
+        directory = Files.createTempDirectory("jarjar");
+        for (var i = 0; i < artifactCount; i++) {
+            var file = directory.resolve("library" + i + "-1.0." + i + ".jar").toFile();
+            var manifest = new Manifest();
+            manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+            manifest.getMainAttributes().putValue("Automatic-Module-Name", "library" + i);
+            try (var out = new JarOutputStream(new FileOutputStream(file), manifest)) {
+                out.finish();
+            }
+            artifacts.add(new ResolvedJarJarArtifact(file, file.getName(), "1.0." + i, "[1.0," + (i + 2) + ".0)", "org.example", "library" + i));
+        }
+    }
+
+    @TearDown
+    public void deleteArtifacts() throws IOException {
+        for (var artifact : artifacts) {
+            Files.deleteIfExists(artifact.getFile().toPath());
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<String> createMetadata() {
+        var metadata = new Metadata(artifacts.stream().map(ResolvedJarJarArtifact::createContainerMetadata).toList());
+        return MetadataIOHandler.toLines(metadata);
+    }
+}
@@ -0,0 +1,58 @@
+package net.neoforged.moddevgradle.internal.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Hashing is used to version local files embedded with Jar-in-Jar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileUtilsBenchmark {
+    @Param({ "65536", "16777216" })
+    public int fileSize;
+
+    private File file;
+
+    @Setup
+    public void createFile() throws IOException {
+        file = File.createTempFile("hash", ".jar");
+        var content = new byte[fileSize];
+        new Random(0).nextBytes(content);
+        Files.write(file.toPath(), content);
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public String hashFileMd5() {
+        return FileUtils.hashFile(file, "MD5");
+    }
+
+    @Benchmark
+    public String hashFileSha256() {
+        return FileUtils.hashFile(file, "SHA-256");
+    }
+}
@@ -0,0 +1,45 @@
+package net.neoforged.moddevgradle.internal.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The version capabilities are determined in every project applying the plugin.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionCapabilitiesBenchmark {
+    @State(Scope.Benchmark)
+    public static class NeoForgeVersion {
+        @Param({ "21.1.57", "20.4.237", "21.0.0-beta" })
+        public String version;
+    }
+
+    @State(Scope.Benchmark)
+    public static class MinecraftVersion {
+        @Param({ "1.21.1", "24w45a", "1.12.2" })
+        public String version;
+    }
+
+    @Benchmark
+    public VersionCapabilitiesInternal ofNeoForgeVersion(NeoForgeVersion neoForgeVersion) {
+        return VersionCapabilitiesInternal.ofNeoForgeVersion(neoForgeVersion.version);
+    }
+
+    @Benchmark
+    public VersionCapabilitiesInternal ofMinecraftVersion(MinecraftVersion minecraftVersion) {
+        return VersionCapabilitiesInternal.ofMinecraftVersion(minecraftVersion.version);
+    }
+}
@@ -22,6 +22,8 @@ public abstract class LegacyForgeModdingSettings {
 
     private boolean disableRecompilation = "true".equals(System.getenv("CI"));
 
+    private boolean deferSources;
+
     private boolean obfuscateJar = true;
 
     @Inject
@@ -95,6 +97,23 @@ public abstract class LegacyForgeModdingSettings {
         this.disableRecompilation = disableRecompilation;
     }
 
+    /**
+     * {@code true} if MDG should create the game jar used for compiling without the decompilation/recompilation
+     * pipeline, and create the Minecraft sources in a separate task, which runs when the IDE synchronizes the
+     * project or when it is run explicitly. This lets compilation start without waiting for the decompiler, at the
+     * cost of the sources not exactly matching the compiled game jar while debugging.
+     * Has no effect if {@linkplain #isDisableRecompilation() recompilation is disabled}, or in IntelliJ IDEA, which
+     * needs the sources and the classes in the same jar.
+     * {@code false} by default.
+     */
+    public boolean isDeferSources() {
+        return deferSources;
+    }
+
+    public void setDeferSources(boolean deferSources) {
+        this.deferSources = deferSources;
+    }
+
     /**
      * {@return true if default reobfuscation task should be created}
      */
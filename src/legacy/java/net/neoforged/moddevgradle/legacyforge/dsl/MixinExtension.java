@@ -1,6 +1,7 @@
 package net.neoforged.moddevgradle.legacyforge.dsl;
 
 import javax.inject.Inject;
+import net.neoforged.moddevgradle.legacyforge.tasks.GenerateMixinRefmap;
 import org.gradle.api.Project;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.RegularFile;
@@ -52,4 +53,35 @@ public abstract class MixinExtension {
 
         return refMapFile;
     }
+
+    /**
+     * Like {@link #add}, but generates the refmap from the compiled classes of the source set in a separate task,
+     * instead of using the Mixin annotation processor. This keeps Java compilation incremental, and only the
+     * Mixin classes that changed are processed again.
+     * <p>
+     * The Mixin annotation processor should not be added to the source set when using this method.
+     */
+    public Provider<RegularFile> addFromCompiledClasses(SourceSet sourceSet, String refmap) {
+        var mixinDir = project.getLayout().getBuildDirectory().dir("mixin");
+        var generateRefmap = project.getTasks().register(sourceSet.getTaskName("generate", "MixinRefmap"), GenerateMixinRefmap.class, task -> {
+            task.setGroup("build");
+            task.setDescription("Generates the Mixin refmap " + refmap + " from the compiled classes of source set " + sourceSet.getName());
+            task.getClassesDirectories().from(sourceSet.getOutput().getClassesDirs());
+            task.getCompileClasspath().from(sourceSet.getCompileClasspath());
+            task.getMappings().set(officialToSrg);
+            task.getRefmap().set(mixinDir.map(d -> d.file(refmap)));
+            task.getOutMappings().set(mixinDir.map(d -> d.file(refmap + ".mappings.tsrg")));
+            task.getStateFile().set(mixinDir.map(d -> d.file(refmap + ".state.json")));
+        });
+        var refMapFile = generateRefmap.flatMap(GenerateMixinRefmap::getRefmap);
+
+        extraMappingFiles.from(generateRefmap.flatMap(GenerateMixinRefmap::getOutMappings));
+
+        // We use matching because there's no guarantee each sourceset will have a jar task
+        project.getTasks().withType(Jar.class).matching(jar -> jar.getName().equals(sourceSet.getJarTaskName())).configureEach(jar -> {
+            jar.from(refMapFile);
+        });
+
+        return refMapFile;
+    }
 }
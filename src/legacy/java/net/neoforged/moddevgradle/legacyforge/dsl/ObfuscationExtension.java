@@ -2,6 +2,7 @@ package net.neoforged.moddevgradle.legacyforge.dsl;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import javax.inject.Inject;
 import net.neoforged.moddevgradle.legacyforge.internal.MinecraftMappings;
 import net.neoforged.moddevgradle.legacyforge.tasks.RemapJar;
@@ -10,6 +11,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.gradle.api.Action;
 import org.gradle.api.InvalidUserCodeException;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ExternalModuleDependency;
 import org.gradle.api.artifacts.FileCollectionDependency;
@@ -19,6 +21,7 @@ import org.gradle.api.component.AdhocComponentWithVariants;
 import org.gradle.api.component.ConfigurationVariantDetails;
 import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.TaskProvider;
@@ -44,6 +47,8 @@ public abstract class ObfuscationExtension {
         this.extraMixinMappings = extraMixinMappings;
 
         this.namedMappings = project.getObjects().named(MinecraftMappings.class, MinecraftMappings.NAMED);
+
+        getReobfuscateOnlyWhenPublishing().convention(false);
     }
 
     private <T> Provider<T> assertConfigured(Provider<T> provider) {
@@ -52,6 +57,15 @@ public abstract class ObfuscationExtension {
         }));
     }
 
+    /**
+     * If {@code true}, reobfuscation tasks no longer run after their jar task or as part of {@code assemble} and
+     * {@code build}. They only run when the reobfuscated jar is published, consumed by another project, or when the
+     * reobfuscation task is requested explicitly. {@code false} by default.
+     * <p>
+     * This avoids remapping the jar during local development, where only the jar with named (Mojang) names is needed.
+     */
+    public abstract Property<Boolean> getReobfuscateOnlyWhenPublishing();
+
     /**
      * Format is TSRG.
      */
@@ -113,8 +127,10 @@ public abstract class ObfuscationExtension {
             configureTask.execute(task);
         });
 
+        // Resolved lazily, since the property may be set after the task was registered
+        Callable<Object> reobfUnlessDeferred = () -> getReobfuscateOnlyWhenPublishing().get() ? List.of() : reobf;
         jar.configure(task -> {
-            task.finalizedBy(reobf);
+            task.finalizedBy(reobfUnlessDeferred);
             // Move plain jars into a subdirectory to be able to maintain the same classifier for the reobfuscated version
             task.getDestinationDirectory().set(task.getProject().getLayout().getBuildDirectory().dir("devlibs"));
         });
@@ -149,6 +165,15 @@ public abstract class ObfuscationExtension {
         return reobf;
     }
 
+    /**
+     * Makes the given task, usually {@code assemble}, depend on a reobfuscation task,
+     * unless {@linkplain #getReobfuscateOnlyWhenPublishing() reobfuscation is deferred to publishing}.
+     */
+    @ApiStatus.Internal
+    public void addReobfuscationDependency(Task task, TaskProvider<RemapJar> reobf) {
+        task.dependsOn((Callable<Object>) () -> getReobfuscateOnlyWhenPublishing().get() ? List.of() : reobf);
+    }
+
     private static <T> void copyAttribute(Project project, Attribute<T> attribute, Configuration fromConfig, Configuration toConfig) {
         toConfig.getAttributes().attributeProvider(attribute, project.provider(() -> {
             return Objects.requireNonNull(fromConfig.getAttributes().getAttribute(attribute));
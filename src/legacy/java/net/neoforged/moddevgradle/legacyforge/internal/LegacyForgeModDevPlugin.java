@@ -154,7 +154,10 @@ public class LegacyForgeModDevPlugin implements Plugin<Project> {
                 configurations.getByName(DataFileCollections.CONFIGURATION_ACCESS_TRANSFORMERS),
                 configurations.getByName(DataFileCollections.CONFIGURATION_INTERFACE_INJECTION_DATA),
                 versionCapabilities,
-                settings.isDisableRecompilation());
+                settings.isDisableRecompilation(),
+                settings.isDeferSources(),
+                // The Mixin annotation processor needs the private members of the game to create the refmap
+                false);
 
         var runs = ModDevRunWorkflow.create(
                 project,
@@ -189,7 +192,7 @@ public class LegacyForgeModDevPlugin implements Plugin<Project> {
                     project.getTasks().named(JavaPlugin.JAR_TASK_NAME, Jar.class),
                     project.getExtensions().getByType(SourceSetContainer.class).getByName(SourceSet.MAIN_SOURCE_SET_NAME));
 
-            project.getTasks().named("assemble", assemble -> assemble.dependsOn(reobfJar));
+            project.getTasks().named("assemble", assemble -> obf.addReobfuscationDependency(assemble, reobfJar));
         }
 
         // Forge expects the mapping csv files on the root classpath
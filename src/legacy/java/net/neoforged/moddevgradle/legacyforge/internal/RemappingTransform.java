@@ -4,13 +4,13 @@ import java.io.IOException;
 import javax.inject.Inject;
 import net.neoforged.moddevgradle.legacyforge.tasks.RemapOperation;
 import org.gradle.api.artifacts.transform.InputArtifact;
-import org.gradle.api.artifacts.transform.InputArtifactDependencies;
 import org.gradle.api.artifacts.transform.TransformAction;
 import org.gradle.api.artifacts.transform.TransformOutputs;
 import org.gradle.api.artifacts.transform.TransformParameters;
 import org.gradle.api.file.ConfigurableFileCollection;
-import org.gradle.api.file.FileCollection;
 import org.gradle.api.file.FileSystemLocation;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.CompileClasspath;
 import org.gradle.api.tasks.InputFiles;
@@ -19,15 +19,21 @@ import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.process.ExecOperations;
 
+/**
+ * Remaps mod dependencies from SRG to named mappings.
+ * <p>
+ * The result of this transform is cached by Gradle, and should only be invalidated by changes that can affect it:
+ * the jar itself, the mappings and the remapping tool.
+ * The dependencies of the jar are deliberately not an input. Renaming SRG names only requires the mappings,
+ * since every SRG name is unique. Otherwise, bumping any library used by a mod would remap that mod again.
+ */
 abstract class RemappingTransform implements TransformAction<RemappingTransform.Parameters> {
+    private static final Logger LOG = Logging.getLogger(RemappingTransform.class);
+
     @InputArtifact
     @PathSensitive(PathSensitivity.NONE)
     public abstract Provider<FileSystemLocation> getInputArtifact();
 
-    @CompileClasspath
-    @InputArtifactDependencies
-    public abstract FileCollection getDependencies();
-
     @Inject
     protected abstract ExecOperations getExecOperations();
 
@@ -41,24 +47,32 @@ abstract class RemappingTransform implements TransformAction<RemappingTransform.
         if (!inputFile.exists()) return;
 
         var mappedFile = outputs.file(inputFile.getName());
+        var startNanos = System.nanoTime();
         try {
             getParameters().getRemapOperation()
                     .execute(
                             getExecOperations(),
                             inputFile,
                             mappedFile,
-                            getDependencies().plus(getParameters().getMinecraftDependencies()));
+                            getParameters().getMinecraftDependencies());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
+        // Transforms cannot report to the metrics build service, so this is only logged
+        LOG.info("remap of {} took {} ms {{inputBytes={}, outputBytes={}}}",
+                inputFile.getName(), (System.nanoTime() - startNanos) / 1_000_000, inputFile.length(), mappedFile.length());
     }
 
     public interface Parameters extends TransformParameters {
         @Nested
         RemapOperation getRemapOperation();
 
+        /**
+         * Passed to remapping tools that need the class hierarchy. Only the ABI of these classes can affect the
+         * result, so changes to method bodies and private members do not invalidate remapped jars.
+         */
+        @CompileClasspath
         @InputFiles
-        @PathSensitive(PathSensitivity.NONE)
         ConfigurableFileCollection getMinecraftDependencies();
     }
 }
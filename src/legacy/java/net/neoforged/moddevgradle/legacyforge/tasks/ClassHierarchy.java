@@ -0,0 +1,95 @@
+package net.neoforged.moddevgradle.legacyforge.tasks;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipFile;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Looks up the supertypes of classes on a classpath. Jar files are only opened when they're first needed.
+ */
+final class ClassHierarchy implements Closeable {
+    private final List<File> roots;
+    private final Map<File, ZipFile> openJars = new HashMap<>();
+    private final Map<String, List<String>> supertypes = new HashMap<>();
+
+    ClassHierarchy(List<File> roots) {
+        this.roots = roots;
+    }
+
+    /**
+     * {@return the superclass and the interfaces of the given class, or an empty list if it can't be found}
+     */
+    List<String> getSupertypes(String className) {
+        if (className.equals("java/lang/Object")) {
+            return List.of();
+        }
+        var result = supertypes.get(className);
+        if (result == null) {
+            try {
+                result = readSupertypes(className);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read class " + className, e);
+            }
+            supertypes.put(className, result);
+        }
+        return result;
+    }
+
+    private List<String> readSupertypes(String className) throws IOException {
+        var classBytes = findClass(className);
+        if (classBytes == null) {
+            return List.of();
+        }
+        var reader = new ClassReader(classBytes);
+        var result = new ArrayList<String>();
+        if (reader.getSuperName() != null) {
+            result.add(reader.getSuperName());
+        }
+        Collections.addAll(result, reader.getInterfaces());
+        return result;
+    }
+
+    @Nullable
+    private byte[] findClass(String className) throws IOException {
+        var path = className + ".class";
+        for (var root : roots) {
+            if (root.isDirectory()) {
+                var file = new File(root, path);
+                if (file.isFile()) {
+                    return Files.readAllBytes(file.toPath());
+                }
+            } else if (root.isFile()) {
+                var jar = openJars.get(root);
+                if (jar == null) {
+                    jar = new ZipFile(root);
+                    openJars.put(root, jar);
+                }
+                var entry = jar.getEntry(path);
+                if (entry != null) {
+                    try (var in = jar.getInputStream(entry)) {
+                        return in.readAllBytes();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (var jar : openJars.values()) {
+            jar.close();
+        }
+        openJars.clear();
+    }
+}
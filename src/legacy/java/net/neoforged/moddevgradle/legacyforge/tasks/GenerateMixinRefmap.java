@@ -0,0 +1,240 @@
+package net.neoforged.moddevgradle.legacyforge.tasks;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.reflect.TypeToken;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.inject.Inject;
+import net.neoforged.moddevgradle.internal.utils.FileUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.FileType;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.CompileClasspath;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.LocalState;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.ChangeType;
+import org.gradle.work.Incremental;
+import org.gradle.work.InputChanges;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Generates the Mixin refmap and the mappings for reobfuscating Mixin classes from compiled classes,
+ * instead of using the Mixin annotation processor.
+ * <p>
+ * Since it doesn't run as part of the compiler, Java compilation stays incremental. The task itself is incremental
+ * too: only the classes that changed since the last run are read again.
+ */
+@CacheableTask
+public abstract class GenerateMixinRefmap extends DefaultTask {
+    private static final TypeToken<Map<String, MixinClassScanner.MixinClass>> STATE_TYPE = new TypeToken<>() {};
+
+    /**
+     * The directories containing the compiled Mixin classes.
+     */
+    @Incremental
+    @InputFiles
+    @PathSensitive(PathSensitivity.RELATIVE)
+    public abstract ConfigurableFileCollection getClassesDirectories();
+
+    /**
+     * The classpath the Mixin classes were compiled against. It is used to look up members inherited from supertypes.
+     */
+    @CompileClasspath
+    public abstract ConfigurableFileCollection getCompileClasspath();
+
+    /**
+     * {@return official -> SRG TSRGv2 mappings file of the game}
+     */
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getMappings();
+
+    @OutputFile
+    public abstract RegularFileProperty getRefmap();
+
+    /**
+     * The mappings of the members that Mixin classes shadow or overwrite, used when reobfuscating the mod.
+     */
+    @OutputFile
+    public abstract RegularFileProperty getOutMappings();
+
+    /**
+     * The results for each Mixin class of the last run, which allow the next run to only process changed classes.
+     */
+    @LocalState
+    public abstract RegularFileProperty getStateFile();
+
+    @Inject
+    public GenerateMixinRefmap() {}
+
+    @TaskAction
+    public void generate(InputChanges inputChanges) throws IOException {
+        var stateFile = getStateFile().get().getAsFile().toPath();
+        var state = inputChanges.isIncremental() ? readState(stateFile) : null;
+        var mappings = TsrgMappings.read(getMappings().get().getAsFile().toPath());
+
+        var hierarchyRoots = new ArrayList<>(getClassesDirectories().getFiles());
+        hierarchyRoots.addAll(getCompileClasspath().getFiles());
+        try (var hierarchy = new ClassHierarchy(hierarchyRoots)) {
+            var scanner = new MixinClassScanner(mappings, hierarchy, getLogger()::warn);
+            if (state == null) {
+                state = new TreeMap<>();
+                scanAll(scanner, state);
+            } else {
+                scanChanges(scanner, state, inputChanges);
+            }
+        }
+
+        var gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+        FileUtils.writeStringSafe(stateFile, gson.toJson(state, STATE_TYPE.getType()), StandardCharsets.UTF_8);
+        FileUtils.writeStringSafe(getRefmap().get().getAsFile().toPath(), gson.toJson(createRefmap(state.values())), StandardCharsets.UTF_8);
+        FileUtils.writeLinesSafe(getOutMappings().get().getAsFile().toPath(), createMappings(state.values()), StandardCharsets.UTF_8);
+    }
+
+    private void scanAll(MixinClassScanner scanner, Map<String, MixinClassScanner.MixinClass> state) {
+        getClassesDirectories().getAsFileTree().visit(details -> {
+            if (!details.isDirectory() && details.getName().endsWith(".class")) {
+                scan(scanner, state, details.getRelativePath().getPathString(), details.getFile());
+            }
+        });
+    }
+
+    private void scanChanges(MixinClassScanner scanner, Map<String, MixinClassScanner.MixinClass> state, InputChanges inputChanges) {
+        var changedClasses = new HashSet<String>();
+        var scannedPaths = new HashSet<String>();
+        for (var change : inputChanges.getFileChanges(getClassesDirectories())) {
+            var path = change.getNormalizedPath();
+            if (change.getFileType() == FileType.DIRECTORY || !path.endsWith(".class")) {
+                continue;
+            }
+            changedClasses.add(path.substring(0, path.length() - ".class".length()));
+            scannedPaths.add(path);
+            if (change.getChangeType() == ChangeType.REMOVED) {
+                state.remove(path);
+            } else {
+                scan(scanner, state, path, change.getFile());
+            }
+        }
+
+        // Mixins may reference members that their targets inherit from changed classes of the mod
+        for (var entry : new ArrayList<>(state.entrySet())) {
+            if (!scannedPaths.contains(entry.getKey()) && containsAny(entry.getValue().dependencies(), changedClasses)) {
+                var file = findClassFile(entry.getKey());
+                if (file != null) {
+                    scan(scanner, state, entry.getKey(), file);
+                } else {
+                    state.remove(entry.getKey());
+                }
+            }
+        }
+    }
+
+    private static void scan(MixinClassScanner scanner, Map<String, MixinClassScanner.MixinClass> state, String path, File file) {
+        MixinClassScanner.MixinClass result;
+        try {
+            result = scanner.scan(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+        if (result != null) {
+            state.put(path, result);
+        } else {
+            state.remove(path);
+        }
+    }
+
+    @Nullable
+    private File findClassFile(String path) {
+        for (var directory : getClassesDirectories().getFiles()) {
+            var file = new File(directory, path);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static boolean containsAny(Set<String> set, Set<String> values) {
+        for (var value : values) {
+            if (set.contains(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private static Map<String, MixinClassScanner.MixinClass> readState(Path stateFile) {
+        // The state is missing if the outputs were restored from the build cache
+        if (!Files.isRegularFile(stateFile)) {
+            return null;
+        }
+        try {
+            return new TreeMap<>(new GsonBuilder().create().fromJson(Files.readString(stateFile), STATE_TYPE));
+        } catch (Exception e) {
+            // Reprocess all classes instead
+            return null;
+        }
+    }
+
+    /**
+     * Creates the refmap in the format written by the Mixin annotation processor.
+     */
+    static JsonObject createRefmap(Iterable<MixinClassScanner.MixinClass> mixins) {
+        var mappings = new JsonObject();
+        for (var mixin : sorted(mixins)) {
+            if (!mixin.refmap().isEmpty()) {
+                var entries = new JsonObject();
+                mixin.refmap().forEach(entries::addProperty);
+                mappings.add(mixin.name(), entries);
+            }
+        }
+        var data = new JsonObject();
+        data.add("searge", mappings.deepCopy());
+        var refmap = new JsonObject();
+        refmap.add("mappings", mappings);
+        refmap.add("data", data);
+        return refmap;
+    }
+
+    /**
+     * Creates TSRG mappings for the members of the Mixin classes that have to be renamed when reobfuscating the mod.
+     */
+    static List<String> createMappings(Iterable<MixinClassScanner.MixinClass> mixins) {
+        var lines = new ArrayList<String>();
+        for (var mixin : sorted(mixins)) {
+            if (!mixin.members().isEmpty()) {
+                lines.add(mixin.name() + " " + mixin.name());
+                for (var member : mixin.members()) {
+                    lines.add("\t" + member);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private static List<MixinClassScanner.MixinClass> sorted(Iterable<MixinClassScanner.MixinClass> mixins) {
+        var result = new ArrayList<MixinClassScanner.MixinClass>();
+        mixins.forEach(result::add);
+        result.sort((a, b) -> a.name().compareTo(b.name()));
+        return result;
+    }
+}
@@ -0,0 +1,462 @@
+package net.neoforged.moddevgradle.legacyforge.tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.Nullable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.tree.AnnotationNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+
+/**
+ * Finds the references to Minecraft code in a compiled Mixin class and looks up the SRG names they refer to.
+ * <p>
+ * This covers what the Mixin annotation processor would otherwise contribute to the refmap (injector method
+ * selectors, {@code @At} targets, accessors and invokers) and to the reobfuscation mappings of the mod
+ * ({@code @Shadow} and {@code @Overwrite} members).
+ */
+final class MixinClassScanner {
+    private static final String MIXIN = "Lorg/spongepowered/asm/mixin/Mixin;";
+    private static final String SHADOW = "Lorg/spongepowered/asm/mixin/Shadow;";
+    private static final String OVERWRITE = "Lorg/spongepowered/asm/mixin/Overwrite;";
+    private static final String ACCESSOR = "Lorg/spongepowered/asm/mixin/gen/Accessor;";
+    private static final String INVOKER = "Lorg/spongepowered/asm/mixin/gen/Invoker;";
+    private static final String AT = "Lorg/spongepowered/asm/mixin/injection/At;";
+
+    private final TsrgMappings mappings;
+    private final ClassHierarchy hierarchy;
+    private final Consumer<String> warnings;
+
+    /**
+     * The result of scanning a single Mixin class.
+     *
+     * @param refmap       The entries of this class in the refmap.
+     * @param members      The mappings of the shadowed and overwritten members, as {@code name srgName} for fields and
+     *                     {@code name descriptor srgName} for methods.
+     * @param dependencies The classes whose supertypes were looked up. If one of them changes, the result may change.
+     */
+    record MixinClass(String name, SortedMap<String, String> refmap, SortedSet<String> members, SortedSet<String> dependencies) {}
+
+    MixinClassScanner(TsrgMappings mappings, ClassHierarchy hierarchy, Consumer<String> warnings) {
+        this.mappings = mappings;
+        this.hierarchy = hierarchy;
+        this.warnings = warnings;
+    }
+
+    /**
+     * {@return the references found in the class, or null if it isn't a Mixin}
+     */
+    @Nullable
+    MixinClass scan(byte[] classBytes) {
+        var node = new ClassNode();
+        new ClassReader(classBytes).accept(node, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+        var mixin = findAnnotation(node.visibleAnnotations, node.invisibleAnnotations, MIXIN);
+        if (mixin == null) {
+            return null;
+        }
+
+        var context = new Context(node.name);
+        for (var value : getList(mixin, "value")) {
+            if (value instanceof Type type) {
+                context.targets.add(type.getInternalName());
+            }
+        }
+        for (var value : getList(mixin, "targets")) {
+            if (value instanceof String target) {
+                var className = target.replace('.', '/');
+                context.targets.add(className);
+                var mappedName = mappings.mapClass(className);
+                if (!mappedName.equals(className)) {
+                    context.refmap.put(target, mappedName);
+                }
+            }
+        }
+
+        var remap = getBoolean(mixin, "remap", true);
+        for (var field : node.fields) {
+            var shadow = findAnnotation(field.visibleAnnotations, field.invisibleAnnotations, SHADOW);
+            if (shadow != null && getBoolean(shadow, "remap", remap)) {
+                context.mapShadowField(field.name, field.desc);
+            }
+        }
+        for (var method : node.methods) {
+            scanMethod(context, method, remap);
+        }
+
+        return new MixinClass(node.name, context.refmap, context.members, context.dependencies);
+    }
+
+    private void scanMethod(Context context, MethodNode method, boolean remap) {
+        var annotations = new ArrayList<AnnotationNode>();
+        if (method.visibleAnnotations != null) {
+            annotations.addAll(method.visibleAnnotations);
+        }
+        if (method.invisibleAnnotations != null) {
+            annotations.addAll(method.invisibleAnnotations);
+        }
+
+        for (var annotation : annotations) {
+            var annotationRemap = getBoolean(annotation, "remap", remap);
+            switch (annotation.desc) {
+                case SHADOW, OVERWRITE -> {
+                    if (annotationRemap) {
+                        context.mapShadowMethod(method.name, method.desc);
+                    }
+                }
+                case ACCESSOR -> {
+                    if (annotationRemap) {
+                        var args = Type.getArgumentTypes(method.desc);
+                        var fieldDescriptor = args.length == 0 ? Type.getReturnType(method.desc).getDescriptor() : args[0].getDescriptor();
+                        var name = getString(annotation, "value");
+                        context.mapAccessor(name.isEmpty() ? inferTargetName(method.name, "get", "set", "is") : name, fieldDescriptor);
+                    }
+                }
+                case INVOKER -> {
+                    // Invokers of constructors don't need to be mapped
+                    if (annotationRemap && !isConstructorInvoker(method)) {
+                        var name = getString(annotation, "value");
+                        context.mapInvoker(name.isEmpty() ? inferTargetName(method.name, "call", "invoke") : name, method.desc);
+                    }
+                }
+                default -> {
+                    // Any other annotation that selects target methods is treated as an injector.
+                    // This includes injectors that are not part of Mixin itself, such as those of MixinExtras.
+                    if (annotationRemap) {
+                        for (var selector : getList(annotation, "method")) {
+                            if (selector instanceof String string) {
+                                context.mapTargetMethod(string);
+                            }
+                        }
+                    }
+                    for (var value : getValues(annotation)) {
+                        scanInjectionPoints(context, value, annotationRemap);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isConstructorInvoker(MethodNode method) {
+        return (method.access & Opcodes.ACC_STATIC) != 0 && (method.name.startsWith("new") || method.name.startsWith("create"));
+    }
+
+    /**
+     * Finds {@code @At} annotations in the values of an injector, including those nested in {@code @Slice}.
+     */
+    private void scanInjectionPoints(Context context, Object value, boolean remap) {
+        if (value instanceof AnnotationNode annotation) {
+            var annotationRemap = getBoolean(annotation, "remap", remap);
+            if (annotation.desc.equals(AT) && annotationRemap) {
+                var target = getString(annotation, "target");
+                if (!target.isEmpty()) {
+                    context.mapReference(target);
+                }
+            }
+            for (var nestedValue : getValues(annotation)) {
+                scanInjectionPoints(context, nestedValue, annotationRemap);
+            }
+        } else if (value instanceof List<?> list) {
+            for (var element : list) {
+                scanInjectionPoints(context, element, remap);
+            }
+        }
+    }
+
+    /**
+     * Infers the name of the target of an accessor or invoker from the name of the annotated method,
+     * in the same way as Mixin does.
+     */
+    @Nullable
+    static String inferTargetName(String methodName, String... prefixes) {
+        for (var prefix : prefixes) {
+            if (methodName.length() > prefix.length() && methodName.startsWith(prefix)
+                    && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+                var name = methodName.substring(prefix.length());
+                // Constants such as "getMAX_SIZE" keep their case
+                if (name.equals(name.toUpperCase(Locale.ROOT))) {
+                    return name;
+                }
+                return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A parsed member selector, such as {@code tick}, {@code tick()V}, {@code Lnet/minecraft/Foo;bar(I)V} or
+     * {@code Lnet/minecraft/Foo;baz:I}.
+     *
+     * @param owner      Null if the selector refers to the targets of the Mixin.
+     * @param descriptor Null if the selector is just a name.
+     */
+    record MemberSelector(@Nullable String owner, String name, @Nullable String descriptor) {
+        @Nullable
+        static MemberSelector parse(String selector) {
+            // Wildcards and regular expressions can't be mapped
+            if (selector.isEmpty() || selector.contains("*") || selector.startsWith("/")) {
+                return null;
+            }
+
+            String owner = null;
+            var rest = selector;
+            var ownerEnd = selector.indexOf(';');
+            var descriptorStart = indexOfAny(selector, '(', ':');
+            if (selector.startsWith("L") && ownerEnd != -1 && (descriptorStart == -1 || ownerEnd < descriptorStart)) {
+                owner = selector.substring(1, ownerEnd);
+                rest = selector.substring(ownerEnd + 1);
+            }
+
+            var nameEnd = indexOfAny(rest, '(', ':');
+            if (nameEnd == -1) {
+                return rest.isEmpty() ? null : new MemberSelector(owner, rest, null);
+            }
+            var name = rest.substring(0, nameEnd);
+            var descriptor = rest.charAt(nameEnd) == ':' ? rest.substring(nameEnd + 1) : rest.substring(nameEnd);
+            return name.isEmpty() ? null : new MemberSelector(owner, name, descriptor);
+        }
+
+        boolean isField() {
+            return descriptor != null && !descriptor.startsWith("(");
+        }
+
+        boolean isMethod() {
+            return descriptor != null && descriptor.startsWith("(");
+        }
+
+        private static int indexOfAny(String text, char first, char second) {
+            var firstIndex = text.indexOf(first);
+            var secondIndex = text.indexOf(second);
+            if (firstIndex == -1) {
+                return secondIndex;
+            } else if (secondIndex == -1) {
+                return firstIndex;
+            }
+            return Math.min(firstIndex, secondIndex);
+        }
+    }
+
+    /**
+     * Collects the results for a single Mixin class.
+     */
+    private final class Context {
+        private final String mixinName;
+        private final List<String> targets = new ArrayList<>();
+        private final SortedMap<String, String> refmap = new TreeMap<>();
+        private final SortedSet<String> members = new TreeSet<>();
+        private final SortedSet<String> dependencies = new TreeSet<>();
+
+        Context(String mixinName) {
+            this.mixinName = mixinName;
+        }
+
+        void mapShadowField(String name, String descriptor) {
+            var field = findInTargets(name, descriptor, false);
+            if (field != null && !field.mappedName().equals(name)) {
+                members.add(name + " " + field.mappedName());
+            }
+        }
+
+        void mapShadowMethod(String name, String descriptor) {
+            if (name.startsWith("<")) {
+                return;
+            }
+            var method = findInTargets(name, descriptor, true);
+            if (method != null && !method.mappedName().equals(name)) {
+                members.add(name + " " + descriptor + " " + method.mappedName());
+            }
+        }
+
+        void mapAccessor(@Nullable String name, String descriptor) {
+            if (name == null) {
+                return;
+            }
+            var field = findInTargets(name, descriptor, false);
+            if (field != null) {
+                refmap.put(name, field.mappedName() + ":" + mappings.mapDescriptor(descriptor));
+            }
+        }
+
+        void mapInvoker(@Nullable String name, String descriptor) {
+            if (name == null || name.startsWith("<")) {
+                return;
+            }
+            var method = findInTargets(name, descriptor, true);
+            if (method != null) {
+                refmap.put(name, method.mappedName() + mappings.mapDescriptor(descriptor));
+            }
+        }
+
+        /**
+         * Maps a selector for the methods to inject into. Unqualified selectors refer to the targets of the Mixin.
+         */
+        void mapTargetMethod(String selector) {
+            var parsed = MemberSelector.parse(selector);
+            if (parsed == null || parsed.name().startsWith("<") || parsed.isField()) {
+                return;
+            }
+            var method = parsed.owner() != null
+                    ? find(parsed.owner(), parsed.name(), parsed.descriptor(), true)
+                    : findInTargets(parsed.name(), parsed.descriptor(), true);
+            if (method != null) {
+                putReference(selector, parsed.owner(), method, parsed.descriptor());
+            }
+        }
+
+        /**
+         * Maps the fully qualified target of an injection point.
+         */
+        void mapReference(String selector) {
+            var parsed = MemberSelector.parse(selector);
+            if (parsed == null || parsed.owner() == null || parsed.name().startsWith("<")) {
+                return;
+            }
+            TsrgMappings.Member member = null;
+            if (!parsed.isField()) {
+                member = find(parsed.owner(), parsed.name(), parsed.descriptor(), true);
+            }
+            if (member == null && !parsed.isMethod()) {
+                member = find(parsed.owner(), parsed.name(), parsed.descriptor(), false);
+            }
+            if (member != null) {
+                putReference(selector, parsed.owner(), member, parsed.descriptor());
+            }
+        }
+
+        /**
+         * @param descriptor The descriptor given in the selector, used if the mappings don't contain one.
+         */
+        private void putReference(String selector, @Nullable String owner, TsrgMappings.Member member, @Nullable String descriptor) {
+            var result = new StringBuilder();
+            if (owner != null) {
+                result.append('L').append(mappings.mapClass(owner)).append(';');
+            }
+            result.append(member.mappedName());
+            if (member.descriptor() != null) {
+                descriptor = member.descriptor();
+            }
+            if (descriptor != null) {
+                if (!descriptor.startsWith("(")) {
+                    result.append(':');
+                }
+                result.append(mappings.mapDescriptor(descriptor));
+            }
+            if (!result.toString().equals(selector)) {
+                refmap.put(selector, result.toString());
+            }
+        }
+
+        @Nullable
+        private TsrgMappings.Member findInTargets(String name, @Nullable String descriptor, boolean method) {
+            for (var target : targets) {
+                var result = find(target, name, descriptor, method);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Finds a member in a class or its supertypes, in the same order as the JVM would.
+         */
+        @Nullable
+        private TsrgMappings.Member find(String owner, String name, @Nullable String descriptor, boolean method) {
+            var queue = new ArrayDeque<String>();
+            var visited = new HashSet<String>();
+            queue.add(owner);
+            while (!queue.isEmpty()) {
+                var current = queue.poll();
+                if (!visited.add(current)) {
+                    continue;
+                }
+                var candidates = method ? mappings.findMethods(current, name, descriptor) : mappings.findFields(current, name, descriptor);
+                if (candidates.size() == 1) {
+                    return candidates.get(0);
+                } else if (candidates.size() > 1) {
+                    warnings.accept(String.format("Reference to %s in %s is ambiguous in %s. Add a descriptor to select one of: %s",
+                            name, current, mixinName, candidates.stream().map(TsrgMappings.Member::descriptor).toList()));
+                    return null;
+                }
+                dependencies.add(current);
+                queue.addAll(hierarchy.getSupertypes(current));
+            }
+
+            // Only warn about members of Minecraft classes, which are expected to be found
+            if (mappings.hasClass(owner)) {
+                warnings.accept(String.format("Could not find %s %s%s in %s or its supertypes, referenced by %s",
+                        method ? "method" : "field", name, descriptor != null ? " " + descriptor : "", owner, mixinName));
+            }
+            return null;
+        }
+    }
+
+    @Nullable
+    private static AnnotationNode findAnnotation(@Nullable List<AnnotationNode> visible, @Nullable List<AnnotationNode> invisible, String descriptor) {
+        var result = findAnnotation(visible, descriptor);
+        return result != null ? result : findAnnotation(invisible, descriptor);
+    }
+
+    @Nullable
+    private static AnnotationNode findAnnotation(@Nullable List<AnnotationNode> annotations, String descriptor) {
+        if (annotations != null) {
+            for (var annotation : annotations) {
+                if (annotation.desc.equals(descriptor)) {
+                    return annotation;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Object getValue(AnnotationNode annotation, String name) {
+        if (annotation.values != null) {
+            for (var i = 0; i + 1 < annotation.values.size(); i += 2) {
+                if (name.equals(annotation.values.get(i))) {
+                    return annotation.values.get(i + 1);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Object> getValues(AnnotationNode annotation) {
+        var result = new ArrayList<>();
+        if (annotation.values != null) {
+            for (var i = 1; i < annotation.values.size(); i += 2) {
+                result.add(annotation.values.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets an array value, which can also be given as a single value.
+     */
+    private static List<?> getList(AnnotationNode annotation, String name) {
+        var value = getValue(annotation, name);
+        if (value == null) {
+            return List.of();
+        }
+        return value instanceof List<?> list ? list : List.of(value);
+    }
+
+    private static String getString(AnnotationNode annotation, String name) {
+        return getValue(annotation, name) instanceof String string ? string : "";
+    }
+
+    private static boolean getBoolean(AnnotationNode annotation, String name, boolean defaultValue) {
+        return getValue(annotation, name) instanceof Boolean value ? value : defaultValue;
+    }
+}
@@ -6,17 +6,24 @@ import java.io.UncheckedIOException;
 import javax.inject.Inject;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.CompileClasspath;
 import org.gradle.api.tasks.InputFile;
-import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.process.ExecOperations;
 
 /**
  * Task used to remap a jar using AutoRenamingTool.
+ * <p>
+ * The task is cacheable, so that the remapped jar can be restored from the build cache,
+ * for example when publishing a version that was already built elsewhere.
  */
+@CacheableTask
 public abstract class RemapJar extends Jar {
     @Nested
     public abstract RemapOperation getRemapOperation();
@@ -25,10 +32,11 @@ public abstract class RemapJar extends Jar {
      * The libraries to use for inheritance data during the renaming process.
      */
     @Optional
-    @InputFiles
+    @CompileClasspath
     public abstract ConfigurableFileCollection getLibraries();
 
     @InputFile
+    @PathSensitive(PathSensitivity.NONE)
     public abstract RegularFileProperty getInput();
 
     @Inject
@@ -0,0 +1,132 @@
+package net.neoforged.moddevgradle.legacyforge.tasks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The class and member mappings of a TSRG (v1 or v2) file, from the first namespace to the second.
+ */
+final class TsrgMappings {
+    private final Map<String, String> classes = new HashMap<>();
+    private final Map<String, List<Member>> members = new HashMap<>();
+
+    /**
+     * @param descriptor The descriptor in the source namespace. Can be null for fields if the file doesn't contain it.
+     */
+    record Member(String name, @Nullable String descriptor, String mappedName) {
+        boolean isMethod() {
+            return descriptor != null && descriptor.startsWith("(");
+        }
+    }
+
+    private TsrgMappings() {}
+
+    static TsrgMappings read(Path file) throws IOException {
+        return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    static TsrgMappings parse(List<String> lines) {
+        var result = new TsrgMappings();
+        // TSRGv1 files have no header and always map between two namespaces
+        var namespaces = 2;
+        List<Member> currentMembers = null;
+        for (var i = 0; i < lines.size(); i++) {
+            var line = lines.get(i);
+            if (i == 0 && line.startsWith("tsrg2 ")) {
+                namespaces = line.split(" ").length - 1;
+                continue;
+            }
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+
+            var depth = 0;
+            while (depth < line.length() && line.charAt(depth) == '\t') {
+                depth++;
+            }
+            var columns = line.substring(depth).split(" ");
+            if (depth == 0) {
+                result.classes.put(columns[0], columns[1]);
+                currentMembers = result.members.computeIfAbsent(columns[0], ignored -> new ArrayList<>());
+            } else if (depth == 1 && currentMembers != null) {
+                if (columns.length > namespaces) {
+                    // Methods, or fields with a descriptor
+                    currentMembers.add(new Member(columns[0], columns[1], columns[2]));
+                } else {
+                    currentMembers.add(new Member(columns[0], null, columns[1]));
+                }
+            }
+            // Deeper lines are parameters, which are not relevant here
+        }
+        return result;
+    }
+
+    /**
+     * {@return true if the class is contained in the mappings, i.e. is part of Minecraft}
+     */
+    boolean hasClass(String className) {
+        return classes.containsKey(className);
+    }
+
+    String mapClass(String className) {
+        return classes.getOrDefault(className, className);
+    }
+
+    /**
+     * Maps the class names in a field or method descriptor.
+     */
+    String mapDescriptor(String descriptor) {
+        var result = new StringBuilder(descriptor.length());
+        var pos = 0;
+        while (pos < descriptor.length()) {
+            var c = descriptor.charAt(pos);
+            if (c == 'L') {
+                var end = descriptor.indexOf(';', pos);
+                result.append('L').append(mapClass(descriptor.substring(pos + 1, end))).append(';');
+                pos = end + 1;
+            } else {
+                result.append(c);
+                pos++;
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Finds the fields declared by a class.
+     *
+     * @param descriptor If not null, fields with a known, different descriptor are ignored.
+     */
+    List<Member> findFields(String owner, String name, @Nullable String descriptor) {
+        var result = new ArrayList<Member>();
+        for (var member : members.getOrDefault(owner, List.of())) {
+            if (!member.isMethod() && member.name().equals(name)
+                    && (descriptor == null || member.descriptor() == null || member.descriptor().equals(descriptor))) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the methods declared by a class.
+     *
+     * @param descriptor If not null, only the method with this descriptor is returned.
+     */
+    List<Member> findMethods(String owner, String name, @Nullable String descriptor) {
+        var result = new ArrayList<Member>();
+        for (var member : members.getOrDefault(owner, List.of())) {
+            if (member.isMethod() && member.name().equals(name) && (descriptor == null || member.descriptor().equals(descriptor))) {
+                result.add(member);
+            }
+        }
+        return result;
+    }
+}
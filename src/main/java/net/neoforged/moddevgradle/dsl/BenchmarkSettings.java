@@ -0,0 +1,66 @@
+package net.neoforged.moddevgradle.dsl;
+
+import java.time.Duration;
+import javax.inject.Inject;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Configures runs of the {@code benchmark} type.
+ * <p>
+ * A benchmark run launches a headless dedicated server with the mods loaded, records it with the Java Flight Recorder
+ * and stops it automatically. The {@code checkPerformance} task runs all benchmarks, summarizes each recording into
+ * a JSON report and compares it against the {@linkplain #getBaseline() baseline report} of its run.
+ * <p>
+ * Benchmark runs accept the Minecraft EULA by writing {@code eula.txt} to their game directory if it doesn't exist yet.
+ *
+ * @see RunModel#benchmark()
+ */
+@ApiStatus.NonExtendable
+public abstract class BenchmarkSettings {
+    @Inject
+    public BenchmarkSettings() {
+        getWarmup().convention(Duration.ofSeconds(30));
+        getDuration().convention(Duration.ofSeconds(60));
+        getSeed().convention("moddevgradle");
+        getLevelType().convention("minecraft:normal");
+        getMaxRegression().convention(0.1);
+    }
+
+    /**
+     * How long the server runs before the recording starts. This excludes startup and world generation from the
+     * measurement. Defaults to 30 seconds.
+     */
+    public abstract Property<Duration> getWarmup();
+
+    /**
+     * How long the server is recorded for, after the {@linkplain #getWarmup() warmup}. The server is stopped afterward.
+     * Defaults to 60 seconds.
+     */
+    public abstract Property<Duration> getDuration();
+
+    /**
+     * The world seed written to {@code server.properties} if the game directory does not contain one yet.
+     * Use a separate {@linkplain RunModel#getGameDirectory() game directory} for benchmark runs to get a fresh world.
+     */
+    public abstract Property<String> getSeed();
+
+    /**
+     * The world preset written to {@code server.properties} if the game directory does not contain one yet.
+     * Defaults to {@code minecraft:normal}.
+     */
+    public abstract Property<String> getLevelType();
+
+    /**
+     * A report written by a previous benchmark run to compare against.
+     * If unset, the report is written without being checked.
+     */
+    public abstract RegularFileProperty getBaseline();
+
+    /**
+     * How much worse than the {@linkplain #getBaseline() baseline} any metric may get before the check fails,
+     * as a fraction. Defaults to {@code 0.1}, which allows a 10% regression.
+     */
+    public abstract Property<Double> getMaxRegression();
+}
@@ -1,5 +1,6 @@
 package net.neoforged.moddevgradle.dsl;
 
+import java.util.Set;
 import net.neoforged.moddevgradle.internal.utils.StringUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -9,6 +10,11 @@ import org.jetbrains.annotations.Nullable;
  */
 @ApiStatus.Internal
 public class InternalModelHelper {
+    /**
+     * The run types that run data generation.
+     */
+    public static final Set<String> DATA_RUN_TYPES = Set.of("data", "clientData", "serverData");
+
     public InternalModelHelper() {}
 
     public static String nameOfRun(RunModel run, @Nullable String prefix, @Nullable String suffix) {
@@ -0,0 +1,25 @@
+package net.neoforged.moddevgradle.dsl;
+
+/**
+ * Presets of garbage collector and heap settings for a {@link RunModel run}.
+ * The exact flags depend on the Java version used by the Minecraft version, and JVM arguments set on the run
+ * always take precedence over the flags of a preset.
+ *
+ * @see RunModel#getJvmPreset()
+ */
+public enum JvmPreset {
+    /**
+     * Short garbage collection pauses for a smooth client. Uses generational ZGC on Java 21 and newer, and G1 with a
+     * low pause target otherwise. Allows the heap to grow to half of the physical memory.
+     */
+    LOW_LATENCY_CLIENT,
+    /**
+     * Throughput for long-running servers. Uses G1, sizes the heap to a quarter of the physical memory upfront
+     * and touches it on startup to avoid page faults later on.
+     */
+    THROUGHPUT_SERVER,
+    /**
+     * Fast startup for short-lived data generation runs. Uses the parallel collector and only the C1 compiler.
+     */
+    MINIMAL_DATA_GEN
+}
@@ -19,6 +19,10 @@ public abstract class ModdingVersionSettings {
 
     private boolean disableRecompilation = "true".equals(System.getenv("CI"));
 
+    private boolean deferSources;
+
+    private boolean compileAgainstAbiJar;
+
     @Inject
     public ModdingVersionSettings(Project project) {
         // By default, enable modding deps only for the main source set
@@ -77,4 +81,36 @@ public abstract class ModdingVersionSettings {
     public void setDisableRecompilation(boolean disableRecompilation) {
         this.disableRecompilation = disableRecompilation;
     }
+
+    /**
+     * {@code true} if MDG should create the game jar used for compiling without the decompilation/recompilation
+     * pipeline, and create the Minecraft sources in a separate task, which runs when the IDE synchronizes the
+     * project or when it is run explicitly. This lets compilation start without waiting for the decompiler, at the
+     * cost of the sources not exactly matching the compiled game jar while debugging.
+     * Has no effect if {@linkplain #isDisableRecompilation() recompilation is disabled}, or in IntelliJ IDEA, which
+     * needs the sources and the classes in the same jar.
+     * {@code false} by default.
+     */
+    public boolean isDeferSources() {
+        return deferSources;
+    }
+
+    public void setDeferSources(boolean deferSources) {
+        this.deferSources = deferSources;
+    }
+
+    /**
+     * {@code true} if mods should be compiled against a jar that only contains the API of the game, without
+     * method bodies, private members and resources. The full game jar is still used at runtime.
+     * This makes compilation and snapshotting of the compile classpath faster.
+     * Has no effect in IntelliJ, which needs the game jar combined with the sources on the compile classpath.
+     * {@code false} by default.
+     */
+    public boolean isCompileAgainstAbiJar() {
+        return compileAgainstAbiJar;
+    }
+
+    public void setCompileAgainstAbiJar(boolean compileAgainstAbiJar) {
+        this.compileAgainstAbiJar = compileAgainstAbiJar;
+    }
 }
@@ -7,6 +7,7 @@ import java.util.regex.Pattern;
 import javax.inject.Inject;
 import net.neoforged.moddevgradle.internal.utils.ExtensionUtils;
 import net.neoforged.moddevgradle.internal.utils.StringUtils;
+import org.gradle.api.Action;
 import org.gradle.api.GradleException;
 import org.gradle.api.Named;
 import org.gradle.api.Project;
@@ -30,10 +31,17 @@ import org.slf4j.event.Level;
 public abstract class RunModel implements Named, Dependencies {
     private static final Pattern VALID_RUN_NAME = Pattern.compile("[a-zA-Z][\\w-]*");
 
+    /**
+     * The run type of benchmark runs, which is provided by ModDevGradle rather than NeoForge.
+     */
+    public static final String BENCHMARK_TYPE = "benchmark";
+
     private final String name;
 
     private final Configuration configuration;
 
+    private final BenchmarkSettings benchmark;
+
     /**
      * The Gradle tasks that should be run before running this run.
      */
@@ -48,15 +56,23 @@ public abstract class RunModel implements Named, Dependencies {
 
         getLoadedMods().convention(defaultMods);
 
-        getGameDirectory().convention(project.getLayout().getProjectDirectory().dir("run"));
+        // Data runs get their own game directory, so that they can run in parallel with each other
+        var runDirectory = project.getLayout().getProjectDirectory().dir("run");
+        var dataRunDirectory = project.getLayout().getProjectDirectory().dir("run-data/" + name);
+        getGameDirectory().convention(getType()
+                .map(type -> InternalModelHelper.DATA_RUN_TYPES.contains(type) ? dataRunDirectory : runDirectory)
+                .orElse(runDirectory));
 
         configuration = project.getConfigurations().create(InternalModelHelper.nameOfRun(this, "", "additionalRuntimeClasspath"), configuration -> {
             configuration.setCanBeResolved(false);
             configuration.setCanBeConsumed(false);
         });
 
+        benchmark = project.getObjects().newInstance(BenchmarkSettings.class);
+
         getLogLevel().convention(Level.INFO);
         getDevLogin().convention(false);
+        getIncrementalData().convention(false);
 
         // Build a nicer name for the IDE run configuration
         boolean isSubProject = project.getRootProject() != project;
@@ -88,7 +104,8 @@ public abstract class RunModel implements Named, Dependencies {
     public abstract Property<String> getIdeFolderName();
 
     /**
-     * Directory that the game will run in. Defaults to {@code run/}.
+     * Directory that the game will run in. Defaults to {@code run-data/<run name>/} for data runs
+     * and to {@code run/} for all other runs.
      */
     public abstract DirectoryProperty getGameDirectory();
 
@@ -145,6 +162,34 @@ public abstract class RunModel implements Named, Dependencies {
         getJvmArguments().add(arg);
     }
 
+    /**
+     * Garbage collector and heap settings tuned for a particular kind of run. The flags of the preset are chosen
+     * based on the Java version of the Minecraft version and are placed before {@link #getJvmArguments()},
+     * which can override them.
+     */
+    public abstract Property<JvmPreset> getJvmPreset();
+
+    /**
+     * Equivalent to setting {@code jvmPreset = JvmPreset.LOW_LATENCY_CLIENT}.
+     */
+    public void lowLatencyClient() {
+        getJvmPreset().set(JvmPreset.LOW_LATENCY_CLIENT);
+    }
+
+    /**
+     * Equivalent to setting {@code jvmPreset = JvmPreset.THROUGHPUT_SERVER}.
+     */
+    public void throughputServer() {
+        getJvmPreset().set(JvmPreset.THROUGHPUT_SERVER);
+    }
+
+    /**
+     * Equivalent to setting {@code jvmPreset = JvmPreset.MINIMAL_DATA_GEN}.
+     */
+    public void minimalDataGen() {
+        getJvmPreset().set(JvmPreset.MINIMAL_DATA_GEN);
+    }
+
     /**
      * The mods for this run. Defaults to all mods registered in the project.
      *
@@ -201,6 +246,27 @@ public abstract class RunModel implements Named, Dependencies {
         getType().set("serverData");
     }
 
+    /**
+     * Equivalent to setting {@code type = "benchmark"}.
+     *
+     * <p>Benchmark runs launch a headless dedicated server, record it for a fixed time and stop it.
+     * Use {@link #getBenchmark()} to configure the recording and the baseline it is checked against.
+     */
+    public void benchmark() {
+        getType().set(BENCHMARK_TYPE);
+    }
+
+    /**
+     * Settings used when this run is a {@linkplain #benchmark() benchmark run}.
+     */
+    public BenchmarkSettings getBenchmark() {
+        return benchmark;
+    }
+
+    public void benchmark(Action<BenchmarkSettings> action) {
+        action.execute(benchmark);
+    }
+
     /**
      * Equivalent to setting {@code ideName = ""}
      */
@@ -273,6 +339,19 @@ public abstract class RunModel implements Named, Dependencies {
      */
     public abstract Property<Boolean> getDevLogin();
 
+    /**
+     * For data generation runs ({@code data}, {@code clientData} and {@code serverData}): declares the
+     * {@code --output} directory of the run as the output of its {@code runXxx} task. This lets Gradle skip the
+     * run if neither the classpath nor the arguments changed since it last ran, and allows restoring the
+     * generated files from the build cache.
+     * <p>
+     * Only enable this if the data providers of the run exclusively depend on the classpath of the run.
+     * Files in the game directory, such as configs, are not considered.
+     * <p>
+     * This is ignored with a warning if the output directory overlaps with a resource directory of a source set.
+     */
+    public abstract Property<Boolean> getIncrementalData();
+
     @Override
     public String toString() {
         return "Run[" + getName() + "]";
@@ -15,6 +15,7 @@ public abstract class UnitTest {
     @Inject
     public UnitTest(Project project) {
         this.project = project;
+        getShards().convention(1);
     }
 
     /**
@@ -23,7 +24,8 @@ public abstract class UnitTest {
     public void enable() {
         ModDevRunWorkflow.get(project).configureTesting(
                 getTestedMod(),
-                getLoadedMods());
+                getLoadedMods(),
+                getShards());
     }
 
     /**
@@ -40,4 +42,14 @@ public abstract class UnitTest {
      * @see ModModel
      */
     public abstract SetProperty<ModModel> getLoadedMods();
+
+    /**
+     * Splits the unit tests into this many shards that can run in parallel, each with its own game directory.
+     * Defaults to 1.
+     * <p>
+     * The test task runs the first shard and depends on one additional test task for every other shard
+     * (i.e. {@code testShard2}). Test classes are assigned to shards based on their name.
+     * Since all shards are tasks of the same project, they only run in parallel when the configuration cache is enabled.
+     */
+    public abstract Property<Integer> getShards();
 }
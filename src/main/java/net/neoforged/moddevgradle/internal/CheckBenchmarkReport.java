@@ -0,0 +1,202 @@
+package net.neoforged.moddevgradle.internal;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.inject.Inject;
+import jdk.jfr.consumer.RecordingFile;
+import net.neoforged.moddevgradle.internal.utils.FileUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.work.DisableCachingByDefault;
+
+/**
+ * Summarizes the flight recordings of all benchmark runs into JSON reports and fails if any report regressed
+ * compared to the baseline report of its run.
+ * <p>
+ * All metrics in the report are "lower is better".
+ */
+@DisableCachingByDefault(because = "Summarizing the recording is fast")
+abstract class CheckBenchmarkReport extends DefaultTask {
+    /**
+     * Emitted once per second by Minecraft 1.18 and later with the average duration of the ticks in that second.
+     */
+    private static final String SERVER_TICK_TIME_EVENT = "minecraft.ServerTickTime";
+
+    @Nested
+    abstract ListProperty<Benchmark> getBenchmarks();
+
+    @Inject
+    public CheckBenchmarkReport() {}
+
+    @TaskAction
+    public void check() throws IOException {
+        var gson = new GsonBuilder().setPrettyPrinting().create();
+        var failures = new ArrayList<String>();
+        for (var benchmark : getBenchmarks().get()) {
+            var report = summarizeRecording(benchmark.getRecording().get().getAsFile().toPath());
+
+            var reportPath = benchmark.getReport().get().getAsFile().toPath();
+            FileUtils.writeStringSafe(reportPath, gson.toJson(report), StandardCharsets.UTF_8);
+
+            if (!benchmark.getBaseline().isPresent()) {
+                getLogger().lifecycle("Wrote benchmark report for {} to {}. Copy it and set it as the baseline of the run to check future runs against it.",
+                        benchmark.getRunName().get(), reportPath);
+                continue;
+            }
+
+            var baseline = readReport(benchmark.getBaseline().get().getAsFile().toPath());
+            var maxRegression = benchmark.getMaxRegression().get();
+            var regressions = findRegressions(baseline, report, maxRegression);
+            if (!regressions.isEmpty()) {
+                failures.add("Benchmark " + benchmark.getRunName().get() + " regressed by more than " + Math.round(maxRegression * 100) + "% compared to the baseline:\n"
+                        + String.join("\n", regressions)
+                        + "\nReport: " + reportPath);
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw new GradleException(String.join("\n", failures));
+        }
+    }
+
+    private static Map<String, Double> summarizeRecording(Path recording) throws IOException {
+        var tickTimesMillis = new ArrayList<Double>();
+        long allocatedBytes = 0;
+        var gcPauseTotal = Duration.ZERO;
+        var gcPauseMax = Duration.ZERO;
+        Instant start = null;
+        Instant end = null;
+
+        for (var event : RecordingFile.readAllEvents(recording)) {
+            if (start == null || event.getStartTime().isBefore(start)) {
+                start = event.getStartTime();
+            }
+            if (end == null || event.getEndTime().isAfter(end)) {
+                end = event.getEndTime();
+            }
+
+            switch (event.getEventType().getName()) {
+                case SERVER_TICK_TIME_EVENT -> {
+                    if (event.hasField("averageTickDuration")) {
+                        tickTimesMillis.add(event.getDuration("averageTickDuration").toNanos() / 1_000_000.0);
+                    }
+                }
+                case "jdk.ObjectAllocationSample" -> allocatedBytes += event.getLong("weight");
+                case "jdk.GarbageCollection" -> {
+                    var pause = event.getDuration("sumOfPauses");
+                    gcPauseTotal = gcPauseTotal.plus(pause);
+                    if (pause.compareTo(gcPauseMax) > 0) {
+                        gcPauseMax = pause;
+                    }
+                }
+            }
+        }
+
+        if (start == null) {
+            throw new GradleException("The benchmark recording " + recording + " contains no events.");
+        }
+
+        var report = new LinkedHashMap<String, Double>();
+        if (!tickTimesMillis.isEmpty()) {
+            tickTimesMillis.sort(null);
+            report.put("msptP50", percentile(tickTimesMillis, 50));
+            report.put("msptP95", percentile(tickTimesMillis, 95));
+            report.put("msptP99", percentile(tickTimesMillis, 99));
+            report.put("msptMax", tickTimesMillis.get(tickTimesMillis.size() - 1));
+        }
+        var seconds = Math.max(1, Duration.between(start, end).toMillis()) / 1000.0;
+        report.put("allocationRateMbPerSecond", allocatedBytes / (1024.0 * 1024.0) / seconds);
+        report.put("gcPauseTotalMillis", (double) gcPauseTotal.toMillis());
+        report.put("gcPauseMaxMillis", (double) gcPauseMax.toMillis());
+        return report;
+    }
+
+    /**
+     * Nearest-rank percentile of an already sorted list.
+     */
+    static double percentile(List<Double> sortedValues, int percentile) {
+        var rank = (int) Math.ceil(percentile / 100.0 * sortedValues.size());
+        return sortedValues.get(Math.max(0, rank - 1));
+    }
+
+    private static Map<String, Double> readReport(Path path) throws IOException {
+        try (var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            var json = new Gson().fromJson(reader, JsonObject.class);
+            var result = new LinkedHashMap<String, Double>();
+            for (var entry : json.entrySet()) {
+                if (entry.getValue().isJsonPrimitive() && entry.getValue().getAsJsonPrimitive().isNumber()) {
+                    result.put(entry.getKey(), entry.getValue().getAsDouble());
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Compares all metrics that are present in both reports and describes those that got worse by more than
+     * the allowed fraction.
+     */
+    static List<String> findRegressions(Map<String, Double> baseline, Map<String, Double> report, double maxRegression) {
+        var result = new ArrayList<String>();
+        for (var entry : baseline.entrySet()) {
+            var expected = entry.getValue();
+            var actual = report.get(entry.getKey());
+            if (actual == null || expected <= 0) {
+                continue;
+            }
+            if (actual > expected * (1 + maxRegression)) {
+                result.add(String.format(Locale.ROOT, " - %s: %.2f (baseline: %.2f, +%.1f%%)", entry.getKey(), actual, expected, (actual / expected - 1) * 100));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The recording and report of a single benchmark run.
+     */
+    abstract static class Benchmark {
+        @Inject
+        public Benchmark() {}
+
+        @Input
+        abstract Property<String> getRunName();
+
+        @InputFile
+        @PathSensitive(PathSensitivity.NONE)
+        abstract RegularFileProperty getRecording();
+
+        @InputFile
+        @PathSensitive(PathSensitivity.NONE)
+        @Optional
+        abstract RegularFileProperty getBaseline();
+
+        @Input
+        abstract Property<Double> getMaxRegression();
+
+        @OutputFile
+        abstract RegularFileProperty getReport();
+    }
+}
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import net.neoforged.moddevgradle.dsl.RunModel;
@@ -111,11 +112,18 @@ abstract class CreateLaunchScriptTask extends DefaultTask {
         javaCommand.add(RunUtils.DEV_LAUNCH_MAIN_CLASS);
         javaCommand.add("@" + getProgramArgsFile().get());
 
+        writeLaunchScript(getLaunchScript().get().getAsFile().toPath(), getWorkingDirectory().get(), getEnvironment().get(), javaCommand);
+    }
+
+    /**
+     * Writes a script for the current platform that runs the given command in the working directory.
+     */
+    static void writeLaunchScript(Path destination, String workingDirectory, Map<String, String> environment, List<String> javaCommand) throws IOException {
         var os = OperatingSystem.current();
         if (os == OperatingSystem.WINDOWS) {
-            writeLaunchScriptForWindows(javaCommand);
+            writeLaunchScriptForWindows(destination, workingDirectory, environment, javaCommand);
         } else {
-            writeLaunchScriptForUnix(javaCommand);
+            writeLaunchScriptForUnix(destination, workingDirectory, environment, javaCommand);
         }
     }
 
@@ -143,7 +151,7 @@ abstract class CreateLaunchScriptTask extends DefaultTask {
                 StringUtils.getNativeCharset());
     }
 
-    private void writeLaunchScriptForWindows(List<String> javaCommand) throws IOException {
+    private static void writeLaunchScriptForWindows(Path destination, String workingDirectory, Map<String, String> environment, List<String> javaCommand) throws IOException {
         var lines = new ArrayList<String>();
         Collections.addAll(lines,
                 "@echo off",
@@ -154,13 +162,13 @@ abstract class CreateLaunchScriptTask extends DefaultTask {
                 // Switch encoding to Unicode, otherwise the next "cd" might not work with special chars
                 "chcp 65001>nul");
 
-        for (var entry : getEnvironment().get().entrySet()) {
+        for (var entry : environment.entrySet()) {
             lines.add("set " + escapeBatchScriptArg(entry.getKey()) + "=" + escapeBatchScriptArg(entry.getValue()));
         }
 
         Collections.addAll(lines,
-                "cd " + getWorkingDirectory().get(),
-                javaCommand.stream().map(this::escapeBatchScriptArg).collect(Collectors.joining(" ")),
+                "cd " + workingDirectory,
+                javaCommand.stream().map(CreateLaunchScriptTask::escapeBatchScriptArg).collect(Collectors.joining(" ")),
                 // When Minecraft crashed, pause to prevent the console from closing, making it harder to read the error
                 "if not ERRORLEVEL 0 (" +
                         "  echo Minecraft failed with exit code %ERRORLEVEL%" +
@@ -171,12 +179,12 @@ abstract class CreateLaunchScriptTask extends DefaultTask {
                 "endlocal");
 
         FileUtils.writeStringSafe(
-                getLaunchScript().get().getAsFile().toPath(),
+                destination,
                 String.join("\r\n", lines),
                 StandardCharsets.UTF_8);
     }
 
-    private String escapeBatchScriptArg(String text) {
+    private static String escapeBatchScriptArg(String text) {
         text = text.replace("%", "%%");
         if (text.contains(" ")) {
             text = '"' + text + '"';
@@ -184,18 +192,17 @@ abstract class CreateLaunchScriptTask extends DefaultTask {
         return text;
     }
 
-    private void writeLaunchScriptForUnix(List<String> javaCommand) throws IOException {
+    private static void writeLaunchScriptForUnix(Path destination, String workingDirectory, Map<String, String> environment, List<String> javaCommand) throws IOException {
         var lines = new ArrayList<String>();
 
-        for (var entry : getEnvironment().get().entrySet()) {
+        for (var entry : environment.entrySet()) {
             lines.add("export " + escapeShellArg(entry.getKey()) + "=" + escapeShellArg(entry.getValue()));
         }
 
         Collections.addAll(lines,
-                "(cd " + escapeShellArg(getWorkingDirectory().get()) + "; exec "
-                        + javaCommand.stream().map(this::escapeShellArg).collect(Collectors.joining(" ")) + ")");
+                "(cd " + escapeShellArg(workingDirectory) + "; exec "
+                        + javaCommand.stream().map(CreateLaunchScriptTask::escapeShellArg).collect(Collectors.joining(" ")) + ")");
 
-        Path destination = getLaunchScript().get().getAsFile().toPath();
         FileUtils.writeStringSafe(
                 destination,
                 String.join("\n", lines),
@@ -221,7 +228,7 @@ abstract class CreateLaunchScriptTask extends DefaultTask {
         }
     }
 
-    private String escapeShellArg(String text) {
+    private static String escapeShellArg(String text) {
         return "'" + text.replace("'", "'\"'\"'") + "'";
     }
 }
@@ -0,0 +1,293 @@
+package net.neoforged.moddevgradle.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import net.neoforged.moddevgradle.internal.utils.ExtensionUtils;
+import net.neoforged.moddevgradle.internal.utils.FileUtils;
+import net.neoforged.moddevgradle.internal.utils.OperatingSystem;
+import net.neoforged.moddevgradle.internal.utils.StringUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaToolchainService;
+import org.gradle.work.DisableCachingByDefault;
+
+/**
+ * Writes a self-contained directory to launch a run from, without running Gradle first.
+ * <p>
+ * Unlike the {@linkplain CreateLaunchScriptTask launch scripts}, which reference the files written by Gradle
+ * for the next launch, the bundle contains its own copy of everything the launch needs: the libraries and modules,
+ * the compiled classes and resources of the mods, the legacy classpath, the logging configuration, and the
+ * arguments for the JVM and the program, with all paths pointing into the bundle.
+ * This is meant for scripts that launch the game many times in a row, i.e. for profiling or benchmarking.
+ * <p>
+ * The only files used from outside the bundle are the Java executable, the game directory and the assets,
+ * which are shared with all other runs.
+ */
+@DisableCachingByDefault(because = "The bundle contains absolute paths and mostly copies of other files")
+abstract class CreateLauncherBundle extends DefaultTask {
+    static final String LIBRARIES_DIRECTORY = "libraries";
+    static final String CLASSES_DIRECTORY = "classes";
+    static final String LEGACY_CLASSPATH_FILE = "legacyClasspath.txt";
+    static final String LOG4J_CONFIG_FILE = "log4j2.xml";
+    static final String JVM_ARGS_FILE = "launchArgs.txt";
+    static final String PROGRAM_ARGS_FILE = "programArgs.txt";
+    /**
+     * Lists the SHA-256 hash of every file in the bundle, in the format used by {@code sha256sum}.
+     * Its own hash identifies the bundle as a whole.
+     */
+    static final String MANIFEST_FILE = "manifest.sha256";
+
+    @Input
+    abstract Property<String> getWorkingDirectory();
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    abstract RegularFileProperty getVmArgsFile();
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    abstract RegularFileProperty getProgramArgsFile();
+
+    @Classpath
+    @InputFiles
+    abstract ConfigurableFileCollection getRuntimeClasspath();
+
+    /**
+     * The files on the module path of the run.
+     */
+    @Classpath
+    @InputFiles
+    abstract ConfigurableFileCollection getModules();
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    @Optional
+    abstract RegularFileProperty getLegacyClasspathFile();
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    @Optional
+    abstract RegularFileProperty getLog4jConfigFile();
+
+    @Nested
+    abstract Property<ModFoldersProvider> getModFolders();
+
+    @Input
+    abstract MapProperty<String, String> getEnvironment();
+
+    /**
+     * The Java executable to run the game with.
+     */
+    @Input
+    abstract Property<String> getJavaExecutable();
+
+    @OutputDirectory
+    abstract DirectoryProperty getBundleDirectory();
+
+    @Inject
+    protected abstract JavaToolchainService getJavaToolchainService();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @Inject
+    public CreateLauncherBundle() {
+        var java = ExtensionUtils.getExtension(getProject(), "java", JavaPluginExtension.class);
+        getJavaExecutable().convention(getJavaToolchainService()
+                .launcherFor(java.getToolchain())
+                .map(javaLauncher -> javaLauncher.getExecutablePath().getAsFile().getAbsolutePath()));
+    }
+
+    @TaskAction
+    public void createBundle() throws IOException {
+        var bundleDirectory = getBundleDirectory().get().getAsFile().toPath();
+        getFileSystemOperations().delete(spec -> spec.delete(bundleDirectory.toFile()));
+        Files.createDirectories(bundleDirectory);
+
+        // Maps the absolute path of every file and directory copied into the bundle to the path of its copy
+        var bundledPaths = new LinkedHashMap<String, String>();
+        var usedLibraryPaths = new HashSet<String>();
+        var classesDirectoryCount = 0;
+        var classpath = new ArrayList<String>();
+        for (var file : getRuntimeClasspath().getFiles()) {
+            if (file.isFile()) {
+                classpath.add(bundleLibrary(bundleDirectory, file, bundledPaths, usedLibraryPaths));
+            } else if (file.isDirectory()) {
+                var copy = bundleDirectory.resolve(CLASSES_DIRECTORY).resolve(String.valueOf(++classesDirectoryCount));
+                getFileSystemOperations().copy(spec -> {
+                    spec.from(file);
+                    spec.into(copy);
+                });
+                bundledPaths.put(file.getAbsolutePath(), copy.toAbsolutePath().toString());
+                classpath.add(copy.toAbsolutePath().toString());
+            }
+        }
+        for (var module : getModules().getFiles()) {
+            if (module.isFile()) {
+                bundleLibrary(bundleDirectory, module, bundledPaths, usedLibraryPaths);
+            }
+        }
+
+        if (getLegacyClasspathFile().isPresent()) {
+            var legacyClasspathFile = getLegacyClasspathFile().get().getAsFile();
+            var lines = new ArrayList<String>();
+            for (var line : Files.readAllLines(legacyClasspathFile.toPath(), StandardCharsets.UTF_8)) {
+                var entry = new File(line);
+                lines.add(entry.isFile() ? bundleLibrary(bundleDirectory, entry, bundledPaths, usedLibraryPaths) : rewritePaths(line, bundledPaths));
+            }
+            var copy = bundleDirectory.resolve(LEGACY_CLASSPATH_FILE);
+            FileUtils.writeLinesSafe(copy, lines, StandardCharsets.UTF_8);
+            bundledPaths.put(legacyClasspathFile.getAbsolutePath(), copy.toAbsolutePath().toString());
+        }
+
+        if (getLog4jConfigFile().isPresent()) {
+            var log4jConfigFile = getLog4jConfigFile().get().getAsFile();
+            var copy = bundleDirectory.resolve(LOG4J_CONFIG_FILE);
+            Files.copy(log4jConfigFile.toPath(), copy);
+            bundledPaths.put(log4jConfigFile.getAbsolutePath(), copy.toAbsolutePath().toString());
+        }
+
+        // DevLaunch reads the program arguments itself, using UTF-8. They cannot be part of the JVM argument file,
+        // which the JVM reads using the native character set.
+        var programArgsFile = bundleDirectory.resolve(PROGRAM_ARGS_FILE);
+        var programArgs = Files.readString(getProgramArgsFile().get().getAsFile().toPath(), StandardCharsets.UTF_8);
+        FileUtils.writeStringSafe(programArgsFile, rewritePaths(programArgs, bundledPaths), StandardCharsets.UTF_8);
+
+        var lines = new ArrayList<String>();
+        lines.add("-classpath");
+        lines.add(RunUtils.escapeJvmArg(String.join(File.pathSeparator, classpath)));
+        for (var line : Files.readAllLines(getVmArgsFile().get().getAsFile().toPath(), StringUtils.getNativeCharset())) {
+            lines.add(rewritePaths(line, bundledPaths));
+        }
+        lines.add(RunUtils.escapeJvmArg(rewritePaths(getModFolders().get().getArgument(), bundledPaths)));
+        lines.add(RunUtils.DEV_LAUNCH_MAIN_CLASS);
+        lines.add(RunUtils.escapeJvmArg("@" + programArgsFile.toAbsolutePath()));
+        var jvmArgsFile = bundleDirectory.resolve(JVM_ARGS_FILE);
+        FileUtils.writeLinesSafe(jvmArgsFile, lines, StringUtils.getNativeCharset());
+
+        var environment = new LinkedHashMap<String, String>();
+        getEnvironment().get().forEach((key, value) -> environment.put(key, rewritePaths(value, bundledPaths)));
+        var launchScript = bundleDirectory.resolve(OperatingSystem.current() == OperatingSystem.WINDOWS ? "launch.cmd" : "launch.sh");
+        CreateLaunchScriptTask.writeLaunchScript(
+                launchScript,
+                getWorkingDirectory().get(),
+                environment,
+                List.of(getJavaExecutable().get(), "@" + jvmArgsFile.toAbsolutePath()));
+
+        writeManifest(bundleDirectory);
+        getLogger().lifecycle("Wrote launcher bundle to {}", bundleDirectory);
+    }
+
+    /**
+     * Places a library in the bundle, unless it was already placed there.
+     *
+     * @return The absolute path of the library in the bundle.
+     */
+    private static String bundleLibrary(Path bundleDirectory, File library, Map<String, String> bundledPaths, Set<String> usedLibraryPaths) throws IOException {
+        var existingCopy = bundledPaths.get(library.getAbsolutePath());
+        if (existingCopy != null) {
+            return existingCopy;
+        }
+        var copy = bundleDirectory.resolve(LIBRARIES_DIRECTORY).resolve(getLibraryPath(library.getName(), usedLibraryPaths));
+        Files.createDirectories(copy.getParent());
+        linkOrCopy(library.toPath(), copy);
+        var result = copy.toAbsolutePath().toString();
+        bundledPaths.put(library.getAbsolutePath(), result);
+        return result;
+    }
+
+    /**
+     * Hard-links the file if possible, since libraries are usually immutable files in the Gradle cache.
+     */
+    private static void linkOrCopy(Path source, Path destination) throws IOException {
+        try {
+            Files.createLink(destination, source);
+        } catch (IOException | UnsupportedOperationException ignored) {
+            Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Libraries keep their file name, since FML identifies some of them by it. Libraries whose name is already
+     * taken are placed in numbered subdirectories instead.
+     *
+     * @return The path of the library relative to the libraries directory.
+     */
+    static String getLibraryPath(String filename, Set<String> usedPaths) {
+        var result = filename;
+        for (var i = 2; !usedPaths.add(result); i++) {
+            result = i + "/" + filename;
+        }
+        return result;
+    }
+
+    /**
+     * Replaces every path that was copied into the bundle, and paths of files within copied directories.
+     * Since argument files escape backslashes, the escaped form of each path is replaced as well.
+     */
+    static String rewritePaths(String text, Map<String, String> bundledPaths) {
+        var replacements = new HashMap<String, String>();
+        for (var entry : bundledPaths.entrySet()) {
+            replacements.put(entry.getKey(), entry.getValue());
+            replacements.put(entry.getKey().replace("\\", "\\\\"), entry.getValue().replace("\\", "\\\\"));
+        }
+        if (replacements.isEmpty()) {
+            return text;
+        }
+
+        // Longer paths come first, so a directory doesn't match the beginning of a path next to it.
+        // Only whole paths and paths of files within a directory are replaced.
+        var alternatives = replacements.keySet().stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|"));
+        var pattern = Pattern.compile("(?:" + alternatives + ")(?=$|[/\\\\\\s\"':;,%])");
+        return pattern.matcher(text).replaceAll(match -> Matcher.quoteReplacement(replacements.get(match.group())));
+    }
+
+    private static void writeManifest(Path bundleDirectory) throws IOException {
+        List<Path> files;
+        try (var stream = Files.walk(bundleDirectory)) {
+            files = stream.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        var lines = new ArrayList<String>(files.size());
+        for (var file : files) {
+            var relativePath = bundleDirectory.relativize(file).toString().replace('\\', '/');
+            lines.add(FileUtils.hashFile(file.toFile(), "SHA-256") + "  " + relativePath);
+        }
+        FileUtils.writeLinesSafe(bundleDirectory.resolve(MANIFEST_FILE), lines, StandardCharsets.UTF_8);
+    }
+}
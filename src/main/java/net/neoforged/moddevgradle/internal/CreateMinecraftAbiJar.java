@@ -0,0 +1,91 @@
+package net.neoforged.moddevgradle.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import net.neoforged.moddevgradle.internal.utils.FileUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Creates a jar that only contains the API of the game jar, for the compile classpath.
+ * <p>
+ * Method bodies, private fields and methods, and all resources are removed. The remaining classes are enough
+ * for javac, but are a fraction of the size that javac and Gradle have to read and snapshot.
+ */
+@CacheableTask
+abstract class CreateMinecraftAbiJar extends DefaultTask {
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    abstract RegularFileProperty getInputJar();
+
+    @OutputFile
+    abstract RegularFileProperty getOutputJar();
+
+    @TaskAction
+    public void createAbiJar() throws IOException {
+        var inputJar = getInputJar().get().getAsFile();
+        try (var zipFile = new ZipFile(inputJar);
+                var out = new ZipOutputStream(FileUtils.newSafeFileOutputStream(getOutputJar().get().getAsFile().toPath()))) {
+            // Sort the entries to make the output reproducible
+            var entries = new ArrayList<ZipEntry>(Collections.list(zipFile.entries()));
+            entries.sort(Comparator.comparing(ZipEntry::getName));
+
+            for (var entry : entries) {
+                if (entry.isDirectory() || !entry.getName().endsWith(".class")) {
+                    continue;
+                }
+
+                byte[] classBytes;
+                try (var in = zipFile.getInputStream(entry)) {
+                    classBytes = in.readAllBytes();
+                }
+
+                var newEntry = new ZipEntry(entry.getName());
+                newEntry.setTime(entry.getTime());
+                out.putNextEntry(newEntry);
+                out.write(stripClass(classBytes));
+                out.closeEntry();
+            }
+        }
+    }
+
+    static byte[] stripClass(byte[] classBytes) {
+        var writer = new ClassWriter(0);
+        // Method bodies are skipped when reading, so the methods are written without code
+        new ClassReader(classBytes).accept(new ClassVisitor(Opcodes.ASM9, writer) {
+            @Override
+            public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                if ((access & Opcodes.ACC_PRIVATE) != 0) {
+                    return null;
+                }
+                return super.visitField(access, name, descriptor, signature, value);
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                if ((access & Opcodes.ACC_PRIVATE) != 0) {
+                    return null;
+                }
+                return super.visitMethod(access, name, descriptor, signature, exceptions);
+            }
+        }, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+        return writer.toByteArray();
+    }
+}
@@ -47,6 +47,10 @@ public sealed abstract class IdeIntegration permits IntelliJIntegration, Eclipse
     }
 
     private static IdeIntegration createForProject(Project project, Branding branding) {
+        if (IdeDetection.isVsCode() || IdeDetection.isEclipse() || IdeDetection.isIntelliJSync()) {
+            IdeSyncTimingService.register(project);
+        }
+
         if (IdeDetection.isVsCode()) {
             // VSCode internally uses Eclipse and as such, we need to prioritize it over the pure Eclipse integration
             LOG.debug("Activating VSCode integration for project {}.", project.getPath());
@@ -82,6 +86,14 @@ public sealed abstract class IdeIntegration permits IntelliJIntegration, Eclipse
         return false;
     }
 
+    /**
+     * Whether a separate sources jar for the game should be created, if the combined artifact isn't used.
+     * It is only read by IDEs, which attach it to the game jar.
+     */
+    boolean shouldCreateSourcesArtifact() {
+        return true;
+    }
+
     /**
      * Registers a task to be run when the IDE reloads the Gradle project.
      */
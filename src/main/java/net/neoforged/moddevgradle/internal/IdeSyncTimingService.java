@@ -0,0 +1,100 @@
+package net.neoforged.moddevgradle.internal;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.inject.Inject;
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.gradle.build.event.BuildEventsListenerRegistry;
+import org.gradle.tooling.events.FinishEvent;
+import org.gradle.tooling.events.OperationCompletionListener;
+import org.gradle.tooling.events.task.TaskFinishEvent;
+
+/**
+ * Records how long each task took while the IDE synchronized the project, and logs a breakdown of the slowest
+ * tasks once the build is finished. This makes it visible which part of the sync is worth optimizing.
+ */
+abstract class IdeSyncTimingService implements BuildService<BuildServiceParameters.None>, OperationCompletionListener, AutoCloseable {
+    private static final Logger LOG = Logging.getLogger(IdeSyncTimingService.class);
+
+    private static final String NAME = "neoForgeIdeSyncTimings";
+
+    private static final String SYNC_TASK_NAME = "neoForgeIdeSync";
+
+    /**
+     * How many tasks are listed individually in the summary.
+     */
+    private static final int MAX_LISTED_TASKS = 10;
+
+    private final Map<String, Long> taskDurations = new ConcurrentHashMap<>();
+    private final AtomicLong firstStartTime = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEndTime = new AtomicLong(Long.MIN_VALUE);
+    private volatile boolean syncTaskExecuted;
+
+    /**
+     * Registers the service once per build. It is shared by all projects that apply the plugin.
+     */
+    static void register(Project project) {
+        var sharedServices = project.getGradle().getSharedServices();
+        if (sharedServices.getRegistrations().findByName(NAME) != null) {
+            return;
+        }
+        var service = sharedServices.registerIfAbsent(NAME, IdeSyncTimingService.class, spec -> {});
+        project.getObjects().newInstance(ListenerRegistration.class).getListenerRegistry().onTaskCompletion(service);
+    }
+
+    @Override
+    public void onFinish(FinishEvent event) {
+        if (!(event instanceof TaskFinishEvent taskEvent)) {
+            return;
+        }
+        var result = taskEvent.getResult();
+        var taskPath = taskEvent.getDescriptor().getTaskPath();
+        taskDurations.put(taskPath, result.getEndTime() - result.getStartTime());
+        firstStartTime.accumulateAndGet(result.getStartTime(), Math::min);
+        lastEndTime.accumulateAndGet(result.getEndTime(), Math::max);
+        if (taskPath.endsWith(":" + SYNC_TASK_NAME)) {
+            syncTaskExecuted = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (syncTaskExecuted && !taskDurations.isEmpty()) {
+            LOG.lifecycle(formatSummary(new HashMap<>(taskDurations), lastEndTime.get() - firstStartTime.get()));
+        }
+    }
+
+    /**
+     * Formats the slowest tasks, and compares the sum of all task durations with the elapsed time.
+     * If the sum is much larger than the elapsed time, the tasks ran in parallel.
+     */
+    static String formatSummary(Map<String, Long> taskDurations, long elapsedMillis) {
+        var result = new StringBuilder("IDE sync task timings:\n");
+        taskDurations.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_LISTED_TASKS)
+                .forEach(entry -> result.append(String.format(Locale.ROOT, "  %8.1fs %s\n", entry.getValue() / 1000.0, entry.getKey())));
+        if (taskDurations.size() > MAX_LISTED_TASKS) {
+            result.append("  ... and ").append(taskDurations.size() - MAX_LISTED_TASKS).append(" more tasks\n");
+        }
+        var totalMillis = taskDurations.values().stream().mapToLong(Long::longValue).sum();
+        result.append(String.format(Locale.ROOT, "  Total task time: %.1fs, elapsed: %.1fs", totalMillis / 1000.0, elapsedMillis / 1000.0));
+        return result.toString();
+    }
+
+    abstract static class ListenerRegistration {
+        @Inject
+        public ListenerRegistration() {}
+
+        @Inject
+        abstract BuildEventsListenerRegistry getListenerRegistry();
+    }
+}
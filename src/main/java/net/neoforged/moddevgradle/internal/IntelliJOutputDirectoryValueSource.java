@@ -5,17 +5,20 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import javax.inject.Inject;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.gradle.api.Project;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.ValueSource;
 import org.gradle.api.provider.ValueSourceParameters;
-import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.Nullable;
-import org.xml.sax.InputSource;
 
 /**
  * Checks the IntelliJ project files for the setting that determines whether 1) the build is delegated
@@ -25,11 +28,24 @@ import org.xml.sax.InputSource;
  * Delegated builds use Gradles output directories, while non-delegated builds default to subdirectories of {@code out/}.
  */
 abstract class IntelliJOutputDirectoryValueSource implements ValueSource<String, IntelliJOutputDirectoryValueSource.Params> {
-    // TODO: Loom has unit tests for this... Probably a good idea!
-    @Language("xpath")
-    private static final String IDEA_DELEGATED_BUILD_XPATH = "/project/component[@name='GradleSettings']/option[@name='linkedExternalProjectsSettings']/GradleProjectSettings/option[@name='delegatedBuild']/@value";
-    @Language("xpath")
-    private static final String IDEA_OUTPUT_XPATH = "/project/component[@name='ProjectRootManager']/output/@url";
+    // /project/component[@name='GradleSettings']/option[@name='linkedExternalProjectsSettings']/GradleProjectSettings/option[@name='delegatedBuild']/@value
+    private static final List<XmlPathElement> IDEA_DELEGATED_BUILD_PATH = List.of(
+            new XmlPathElement("project", null),
+            new XmlPathElement("component", "GradleSettings"),
+            new XmlPathElement("option", "linkedExternalProjectsSettings"),
+            new XmlPathElement("GradleProjectSettings", null),
+            new XmlPathElement("option", "delegatedBuild"));
+    // /project/component[@name='ProjectRootManager']/output/@url
+    private static final List<XmlPathElement> IDEA_OUTPUT_PATH = List.of(
+            new XmlPathElement("project", null),
+            new XmlPathElement("component", "ProjectRootManager"),
+            new XmlPathElement("output", null));
+
+    /**
+     * This value source is evaluated for every project applying the plugin, but all of them usually point to the
+     * same IntelliJ project. The result is reused for as long as the IntelliJ project files are unchanged.
+     */
+    private static final Map<File, CachedOutputDirectory> CACHE = new ConcurrentHashMap<>();
 
     interface Params extends ValueSourceParameters {
         Property<String> getProjectDir();
@@ -67,16 +83,30 @@ abstract class IntelliJOutputDirectoryValueSource implements ValueSource<String,
             return null;
         }
 
+        var gradleXml = FileStamp.of(new File(ideaDir, "gradle.xml"));
+        var miscXml = FileStamp.of(new File(ideaDir, "misc.xml"));
+        var cached = CACHE.get(ideaDir);
+        if (cached != null && cached.gradleXml().equals(gradleXml) && cached.miscXml().equals(miscXml)) {
+            return cached.outputDirectory();
+        }
+
+        var outputDirectory = readOutputDirectory(ideaDir);
+        CACHE.put(ideaDir, new CachedOutputDirectory(gradleXml, miscXml, outputDirectory));
+        return outputDirectory;
+    }
+
+    @Nullable
+    static String readOutputDirectory(File ideaDir) {
         // Check if IntelliJ is configured to build with Gradle.
         var gradleXml = new File(ideaDir, "gradle.xml");
-        var delegatedBuild = evaluateXPath(gradleXml, IDEA_DELEGATED_BUILD_XPATH);
+        var delegatedBuild = findAttribute(gradleXml, IDEA_DELEGATED_BUILD_PATH, "value");
         if (!"false".equals(delegatedBuild)) {
             return null;
         }
 
         // Find configured output path
         var miscXml = new File(ideaDir, "misc.xml");
-        String outputDirUrl = evaluateXPath(miscXml, IDEA_OUTPUT_XPATH);
+        String outputDirUrl = findAttribute(miscXml, IDEA_OUTPUT_PATH, "url");
         if (outputDirUrl == null) {
             // Apparently IntelliJ defaults to out/ now?
             outputDirUrl = "file://$PROJECT_DIR$/out";
@@ -86,18 +116,70 @@ abstract class IntelliJOutputDirectoryValueSource implements ValueSource<String,
         return outputDirUrl.replaceAll("^file:", "");
     }
 
+    /**
+     * Streams through the given XML file to find an attribute of the first element at the given path that has it.
+     * This is equivalent to evaluating an XPath expression like {@code /a/b[@name='x']/@attribute}, without
+     * building a DOM of the whole file.
+     */
     @Nullable
-    private static String evaluateXPath(File file, @Language("xpath") String expression) {
-        try (var fis = new FileInputStream(file)) {
-            String result = XPathFactory.newInstance().newXPath().evaluate(expression, new InputSource(fis));
-            return result.isBlank() ? null : result;
-        } catch (FileNotFoundException | XPathExpressionException ignored) {
+    private static String findAttribute(File file, List<XmlPathElement> path, String attribute) {
+        try (var in = new FileInputStream(file)) {
+            var factory = XMLInputFactory.newDefaultFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            var reader = factory.createXMLStreamReader(in);
+            try {
+                var depth = 0;
+                // How many elements of the path are matched by the currently open elements
+                var matched = 0;
+                while (reader.hasNext()) {
+                    var event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        if (matched == depth && path.get(matched).matches(reader)) {
+                            if (matched + 1 < path.size()) {
+                                matched++;
+                            } else {
+                                var value = reader.getAttributeValue(null, attribute);
+                                if (value != null) {
+                                    return value.isBlank() ? null : value;
+                                }
+                            }
+                        }
+                        depth++;
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        depth--;
+                        matched = Math.min(matched, depth);
+                    }
+                }
+                return null;
+            } finally {
+                reader.close();
+            }
+        } catch (FileNotFoundException | XMLStreamException ignored) {
             return null;
         } catch (IOException e) {
-            throw new UncheckedIOException("Failed to evaluate xpath " + expression + " on file " + file, e);
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    /**
+     * An element on a path through an XML document, optionally only matching elements with the given name attribute.
+     */
+    private record XmlPathElement(String elementName, @Nullable String nameAttribute) {
+        boolean matches(XMLStreamReader reader) {
+            return elementName.equals(reader.getLocalName())
+                    && (nameAttribute == null || nameAttribute.equals(reader.getAttributeValue(null, "name")));
         }
     }
 
+    private record FileStamp(long lastModified, long length) {
+        static FileStamp of(File file) {
+            return new FileStamp(file.lastModified(), file.length());
+        }
+    }
+
+    private record CachedOutputDirectory(FileStamp gradleXml, FileStamp miscXml, @Nullable String outputDirectory) {}
+
     /**
      * Tries to find the Gradle project home that most likely contains the IntelliJ project.
      * In composite build scenarios, the composite root has a higher chance of being the IntelliJ directory,
@@ -11,6 +11,7 @@ import net.neoforged.moddevgradle.internal.utils.ExtensionUtils;
 import net.neoforged.moddevgradle.internal.utils.VersionCapabilitiesInternal;
 import net.neoforged.nfrtgradle.CreateMinecraftArtifacts;
 import net.neoforged.nfrtgradle.DownloadAssets;
+import org.gradle.api.Action;
 import org.gradle.api.GradleException;
 import org.gradle.api.InvalidUserCodeException;
 import org.gradle.api.Named;
@@ -68,7 +69,9 @@ public record ModDevArtifactsWorkflow(
             Configuration accessTransformers,
             Configuration interfaceInjectionData,
             VersionCapabilitiesInternal versionCapabilities,
-            boolean disableRecompilation) {
+            boolean disableRecompilation,
+            boolean deferSources,
+            boolean compileAgainstAbiJar) {
         if (project.getExtensions().findByName(EXTENSION_NAME) != null) {
             throw new InvalidUserCodeException("You cannot enable modding in the same project twice.");
         }
@@ -79,6 +82,18 @@ public record ModDevArtifactsWorkflow(
 
         var ideIntegration = IdeIntegration.of(project, branding);
 
+        // Only request the variants of the game jar that are actually used, since each of them can be hundreds of MB.
+        // IntelliJ uses the combined jar, while the other IDEs attach the sources jar to the game jar.
+        var useCombinedArtifact = !disableRecompilation && ideIntegration.shouldUseCombinedSourcesAndClassesArtifact();
+        var useSourcesArtifact = !disableRecompilation && !useCombinedArtifact && ideIntegration.shouldCreateSourcesArtifact();
+
+        // Without recompilation, there are no sources to defer. IntelliJ needs the combined jar on the classpath,
+        // so compiling would have to wait for the sources anyway, and the combined jar is slower to read.
+        var separateSourcesTask = deferSources && !disableRecompilation && !useCombinedArtifact;
+        if (deferSources && useCombinedArtifact) {
+            project.getLogger().warn("deferSources is ignored in IntelliJ IDEA, since it needs the Minecraft sources and classes in the same jar.");
+        }
+
         // We use this directory to store intermediate files used during moddev
         var modDevBuildDir = project.getLayout().getBuildDirectory().dir("moddev");
         var artifactsBuildDir = project.getLayout().getBuildDirectory().dir("moddev/artifacts");
@@ -115,10 +130,8 @@ public record ModDevArtifactsWorkflow(
             spec.getDependencies().addLater(parchment.getParchmentArtifact().map(dependencyFactory::create));
         });
 
-        // it has to contain client-extra to be loaded by FML, and it must be added to the legacy CP
-        var createArtifacts = tasks.register("createMinecraftArtifacts", CreateMinecraftArtifacts.class, task -> {
-            task.setGroup(branding.internalTaskGroup());
-            task.setDescription("Creates the NeoForge and Minecraft artifacts by invoking NFRT.");
+        // Shared by the tasks creating the game jar and the sources
+        Action<CreateMinecraftArtifacts> configureNeoFormRuntime = task -> {
             for (var configuration : createManifestConfigurations) {
                 task.addArtifactsToManifest(configuration);
             }
@@ -150,27 +163,53 @@ public record ModDevArtifactsWorkflow(
             task.getParchmentData().from(parchmentData);
             task.getParchmentEnabled().set(parchment.getEnabled());
             task.getParchmentConflictResolutionPrefix().set(parchment.getConflictResolutionPrefix());
+            task.getIncludeNeoForgeInGameJar().set(versionCapabilities.needsNeoForgeInMinecraftJar());
+            task.getNeoForgeArtifact().set(moddingDependencies.neoForgeDependencyNotation());
+            task.getNeoFormArtifact().set(moddingDependencies.neoFormDependencyNotation());
+        };
+        Function<WorkflowArtifact, Provider<RegularFile>> artifactPathStrategy = artifact -> artifactsBuildDir.map(dir -> dir.file(artifactNamingStrategy.getFilename(artifact)));
 
-            Function<WorkflowArtifact, Provider<RegularFile>> artifactPathStrategy = artifact -> artifactsBuildDir.map(dir -> dir.file(artifactNamingStrategy.getFilename(artifact)));
+        // IntelliJ only finds the sources if the combined jar is on the compile classpath
+        var useAbiJar = compileAgainstAbiJar && !useCombinedArtifact;
 
-            task.getIncludeNeoForgeInGameJar().set(versionCapabilities.needsNeoForgeInMinecraftJar());
-            task.getGameJarArtifact().set(artifactPathStrategy.apply(WorkflowArtifact.COMPILED));
-            if (disableRecompilation) {
+        // it has to contain client-extra to be loaded by FML, and it must be added to the legacy CP
+        var createArtifacts = tasks.register("createMinecraftArtifacts", CreateMinecraftArtifacts.class, task -> {
+            task.setGroup(branding.internalTaskGroup());
+            task.setDescription("Creates the NeoForge and Minecraft artifacts by invoking NFRT.");
+            configureNeoFormRuntime.execute(task);
+
+            if (!useCombinedArtifact) {
+                task.getGameJarArtifact().set(artifactPathStrategy.apply(WorkflowArtifact.COMPILED));
+            }
+            if (disableRecompilation || separateSourcesTask) {
                 task.getDisableRecompilation().set(true);
-            } else {
+            } else if (useCombinedArtifact) {
                 task.getGameJarWithSourcesArtifact().set(artifactPathStrategy.apply(WorkflowArtifact.COMPILED_WITH_SOURCES));
+            } else if (useSourcesArtifact) {
                 task.getGameSourcesArtifact().set(artifactPathStrategy.apply(WorkflowArtifact.SOURCES));
             }
             if (versionCapabilities.needsNeoForgeInMinecraftJar()) {
                 task.getResourcesArtifact().set(artifactPathStrategy.apply(WorkflowArtifact.CLIENT_RESOURCES));
             }
 
-            task.getNeoForgeArtifact().set(moddingDependencies.neoForgeDependencyNotation());
-            task.getNeoFormArtifact().set(moddingDependencies.neoFormDependencyNotation());
             task.getAdditionalResults().putAll(extension.getAdditionalMinecraftArtifacts());
         });
         ideIntegration.runTaskOnProjectSync(createArtifacts);
 
+        // When sources are deferred, the game jar used for compiling is created without recompilation, so that
+        // compilation doesn't have to wait for the decompiler. The sources are created by a separate task,
+        // which only runs when the IDE synchronizes the project, or when it is requested explicitly.
+        TaskProvider<CreateMinecraftArtifacts> createSources = null;
+        if (separateSourcesTask) {
+            createSources = tasks.register("createMinecraftSources", CreateMinecraftArtifacts.class, task -> {
+                task.setGroup(branding.internalTaskGroup());
+                task.setDescription("Creates the Minecraft sources for the IDE by invoking NFRT.");
+                configureNeoFormRuntime.execute(task);
+                task.getGameSourcesArtifact().set(artifactPathStrategy.apply(WorkflowArtifact.SOURCES));
+            });
+            ideIntegration.runTaskOnProjectSync(createSources);
+        }
+
         var downloadAssets = tasks.register("downloadAssets", DownloadAssets.class, task -> {
             // Not in the internal group in case someone wants to "preload" the asset before they go offline
             task.setGroup(branding.publicTaskGroup());
@@ -188,12 +227,26 @@ public record ModDevArtifactsWorkflow(
         // For IntelliJ, we attach a combined sources+classes artifact which enables an "Attach Sources..." link for IJ users
         // Otherwise, attaching sources is a pain for IJ users.
         Provider<? extends Dependency> minecraftClassesDependency;
-        if (!disableRecompilation && ideIntegration.shouldUseCombinedSourcesAndClassesArtifact()) {
+        if (useCombinedArtifact) {
             minecraftClassesDependency = createArtifacts.map(task -> project.files(task.getGameJarWithSourcesArtifact())).map(dependencyFactory::create);
         } else {
             minecraftClassesDependency = createArtifacts.map(task -> project.files(task.getGameJarArtifact())).map(dependencyFactory::create);
         }
 
+        // Compiling only needs the API of the game jar, which is faster to read and snapshot than the full jar
+        TaskProvider<CreateMinecraftAbiJar> createAbiJar = null;
+        Provider<? extends Dependency> minecraftCompileClassesDependency = minecraftClassesDependency;
+        if (useAbiJar) {
+            createAbiJar = tasks.register("createMinecraftAbiJar", CreateMinecraftAbiJar.class, task -> {
+                task.setGroup(branding.internalTaskGroup());
+                task.setDescription("Creates the Minecraft jar used for compiling, which only contains the API of the game jar.");
+                task.getInputJar().set(createArtifacts.flatMap(CreateMinecraftArtifacts::getGameJarArtifact));
+                task.getOutputJar().set(artifactPathStrategy.apply(WorkflowArtifact.COMPILED_ABI));
+            });
+            ideIntegration.runTaskOnProjectSync(createAbiJar);
+            minecraftCompileClassesDependency = createAbiJar.map(task -> project.files(task.getOutputJar())).map(dependencyFactory::create);
+        }
+
         // Name of the configuration in which we place the required dependencies to develop mods for use in the runtime-classpath.
         // We cannot use "runtimeOnly", since the contents of that are published.
         var runtimeDependencies = configurations.create("modDevRuntimeDependencies", config -> {
@@ -218,7 +271,7 @@ public record ModDevArtifactsWorkflow(
             config.setDescription("The compile-time dependencies to develop a mod, including Minecraft and modding platform classes.");
             config.setCanBeResolved(false);
             config.setCanBeConsumed(false);
-            config.getDependencies().addLater(minecraftClassesDependency);
+            config.getDependencies().addLater(minecraftCompileClassesDependency);
             config.getDependencies().add(moddingDependencies.gameLibrariesDependency());
             if (!versionCapabilities.needsNeoForgeInMinecraftJar() && moddingDependencies.neoForgeDependency() != null) {
                 config.getDependencies().add(moddingDependencies.neoForgeDependency());
@@ -226,11 +279,17 @@ public record ModDevArtifactsWorkflow(
         });
 
         // For IDEs that support it, link the source/binary artifacts if we use separated ones
-        if (!disableRecompilation && !ideIntegration.shouldUseCombinedSourcesAndClassesArtifact()) {
-            ideIntegration.attachSources(
-                    Map.of(
-                            createArtifacts.get().getGameJarArtifact(),
-                            createArtifacts.get().getGameSourcesArtifact()));
+        if (useSourcesArtifact || createSources != null) {
+            var sourcesTask = createSources != null ? createSources : createArtifacts;
+            var sourcesArtifact = sourcesTask.get().getGameSourcesArtifact();
+            if (createAbiJar != null) {
+                ideIntegration.attachSources(
+                        Map.of(
+                                createArtifacts.get().getGameJarArtifact(), sourcesArtifact,
+                                createAbiJar.get().getOutputJar(), sourcesArtifact));
+            } else {
+                ideIntegration.attachSources(Map.of(createArtifacts.get().getGameJarArtifact(), sourcesArtifact));
+            }
         }
 
         var result = new ModDevArtifactsWorkflow(
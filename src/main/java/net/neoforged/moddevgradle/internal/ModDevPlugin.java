@@ -98,7 +98,9 @@ public class ModDevPlugin implements Plugin<Project> {
                 configurations.getByName(DataFileCollections.CONFIGURATION_ACCESS_TRANSFORMERS),
                 configurations.getByName(DataFileCollections.CONFIGURATION_INTERFACE_INJECTION_DATA),
                 versionCapabilities,
-                settings.isDisableRecompilation());
+                settings.isDisableRecompilation(),
+                settings.isDeferSources(),
+                settings.isCompileAgainstAbiJar());
 
         ModDevRunWorkflow.create(
                 project,
@@ -27,6 +27,7 @@ import org.gradle.api.attributes.AttributeContainer;
 import org.gradle.api.attributes.Usage;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileTreeElement;
 import org.gradle.api.file.RegularFile;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.plugins.JavaPluginExtension;
@@ -36,6 +37,7 @@ import org.gradle.api.tasks.SourceSet;
 import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.testing.Test;
 import org.gradle.jvm.toolchain.JavaToolchainService;
+import org.gradle.language.base.plugins.LifecycleBasePlugin;
 import org.gradle.testing.base.TestingExtension;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.event.Level;
@@ -185,7 +187,9 @@ public class ModDevRunWorkflow {
         return workflow;
     }
 
-    public void configureTesting(Provider<ModModel> testedMod, Provider<Set<ModModel>> loadedMods) {
+    public void configureTesting(Provider<ModModel> testedMod,
+            Provider<Set<ModModel>> loadedMods,
+            Provider<Integer> shards) {
         var testing = project.getExtensions().getByType(TestingExtension.class);
         var testSuite = (JvmTestSuite) testing.getSuites().getByName("test");
         var testSourceSet = testSuite.getSources();
@@ -228,7 +232,8 @@ public class ModDevRunWorkflow {
                         }
                     },
                     artifactsWorkflow.downloadAssets().flatMap(DownloadAssets::getAssetPropertiesFile),
-                    artifactsWorkflow.versionCapabilities());
+                    artifactsWorkflow.versionCapabilities(),
+                    shards);
         }
     }
 
@@ -289,6 +294,73 @@ public class ModDevRunWorkflow {
             prepareRunTasks.put(run, prepareRunTask);
         });
         ideIntegration.configureRuns(prepareRunTasks, runs);
+
+        // Which runs are benchmarks is only known once the task graph is built
+        var benchmarkRuns = project.provider(() -> runs.stream()
+                .filter(run -> RunModel.BENCHMARK_TYPE.equals(run.getType().getOrNull()))
+                .toList());
+        project.getTasks().register("checkPerformance", CheckBenchmarkReport.class, task -> {
+            task.setGroup(branding.publicTaskGroup());
+            task.setDescription("Runs all benchmark runs and compares their results against their baselines.");
+            task.onlyIf("The project has benchmark runs", ignored -> !task.getBenchmarks().get().isEmpty());
+            task.dependsOn(benchmarkRuns.map(benchmarks -> benchmarks.stream()
+                    .map(run -> project.getTasks().named(InternalModelHelper.nameOfRun(run, "run", "")))
+                    .toList()));
+            task.getBenchmarks().addAll(benchmarkRuns.map(benchmarks -> benchmarks.stream().map(run -> {
+                var benchmark = project.getObjects().newInstance(CheckBenchmarkReport.Benchmark.class);
+                benchmark.getRunName().set(run.getName());
+                benchmark.getRecording().set(RunUtils.getArgFile(argFileDir, run, RunUtils.RunArgFile.BENCHMARK_RECORDING));
+                benchmark.getBaseline().set(run.getBenchmark().getBaseline());
+                benchmark.getMaxRegression().set(run.getBenchmark().getMaxRegression());
+                benchmark.getReport().set(RunUtils.getArgFile(argFileDir, run, RunUtils.RunArgFile.BENCHMARK_REPORT));
+                return benchmark;
+            }).toList()));
+        });
+
+        setupParallelDataRuns(project, branding, argFileDir, runs, prepareRunTasks);
+    }
+
+    private static void setupParallelDataRuns(Project project,
+            Branding branding,
+            Provider<Directory> argFileDir,
+            DomainObjectCollection<RunModel> runs,
+            Map<RunModel, TaskProvider<PrepareRun>> prepareRunTasks) {
+        var javaExtension = ExtensionUtils.getExtension(project, "java", JavaPluginExtension.class);
+        var toolchainService = ExtensionUtils.findExtension(project, "javaToolchains", JavaToolchainService.class);
+
+        // Which runs are data runs is only known once the task graph is built
+        var dataRuns = project.provider(() -> runs.stream()
+                .filter(run -> RunDataInParallel.DATA_RUN_TYPES.contains(run.getType().getOrElse("")))
+                .toList());
+        project.getTasks().register("runAllData", RunDataInParallel.class, task -> {
+            task.setGroup(branding.publicTaskGroup());
+            task.setDescription("Runs all data generation runs in parallel and merges their generated files.");
+            task.onlyIf("The project has data runs", ignored -> !task.getDataRuns().get().isEmpty());
+            task.dependsOn(dataRuns.map(runList -> runList.stream()
+                    .flatMap(run -> run.getTasksBefore().stream())
+                    .toList()));
+            task.getDataRuns().addAll(dataRuns.map(runList -> runList.stream().map(run -> {
+                var prepareRunTask = prepareRunTasks.get(run);
+                var dataRun = project.getObjects().newInstance(RunDataInParallel.DataRun.class);
+                dataRun.getRunName().set(run.getName());
+                dataRun.getJavaLauncher().set(toolchainService.launcherFor(spec -> spec.getLanguageVersion().set(javaExtension.getToolchain().getLanguageVersion())));
+                dataRun.getClasspath().from(run.getSourceSet().map(SourceSet::getRuntimeClasspath));
+                dataRun.getVmArgsFile().set(prepareRunTask.flatMap(PrepareRun::getVmArgsFile));
+                dataRun.getProgramArgsFile().set(prepareRunTask.flatMap(PrepareRun::getStagedDataProgramArgsFile));
+                dataRun.getModFolders().set(RunUtils.getGradleModFoldersProvider(project, run.getLoadedMods(), null));
+                dataRun.getEnvironment().set(run.getEnvironment());
+                dataRun.getGameDirectory().set(run.getGameDirectory());
+                dataRun.getStagingDirectory().set(getParallelDataStagingDirectory(argFileDir, run));
+                dataRun.getOutputDirectory().fileProvider(run.getGameDirectory().zip(run.getProgramArguments(),
+                        (gameDirectory, programArguments) -> RunDataInParallel.resolveOutputDirectory(gameDirectory.getAsFile(), programArguments)));
+                dataRun.getLogFile().set(RunUtils.getArgFile(argFileDir, run, RunUtils.RunArgFile.PARALLEL_DATA_LOG));
+                return dataRun;
+            }).toList()));
+        });
+    }
+
+    private static Provider<Directory> getParallelDataStagingDirectory(Provider<Directory> argFileDir, RunModel run) {
+        return argFileDir.map(dir -> dir.dir("parallelData/" + run.getName()));
     }
 
     /**
@@ -324,7 +396,7 @@ public class ModDevRunWorkflow {
 
         var type = RunUtils.getRequiredType(project, run);
 
-        var modulePathConfiguration = project.getConfigurations().create(InternalModelHelper.nameOfRun(run, "", "modulesOnly"), spec -> {
+        var modulePathConfiguration = configurations.register(InternalModelHelper.nameOfRun(run, "", "modulesOnly"), spec -> {
             spec.setDescription("Libraries that should be placed on the JVMs boot module path for run " + run.getName() + ".");
             spec.setCanBeResolved(true);
             spec.setCanBeConsumed(false);
@@ -334,7 +406,7 @@ public class ModDevRunWorkflow {
 
         Provider<RegularFile> legacyClasspathFile;
         if (versionCapabilities.legacyClasspath()) {
-            var legacyClasspathConfiguration = configurations.create(InternalModelHelper.nameOfRun(run, "", "legacyClasspath"), spec -> {
+            var legacyClasspathConfiguration = configurations.register(InternalModelHelper.nameOfRun(run, "", "legacyClasspath"), spec -> {
                 spec.setDescription("Contains all dependencies of the " + run.getName() + " run that should not be considered boot classpath modules.");
                 spec.setCanBeResolved(true);
                 spec.setCanBeConsumed(false);
@@ -356,13 +428,20 @@ public class ModDevRunWorkflow {
                 writeLcp.getLegacyClasspathFile().set(argFileDir.map(dir -> dir.file(InternalModelHelper.nameOfRun(run, "", "legacyClasspath") + ".txt")));
                 writeLcp.addEntries(legacyClasspathConfiguration);
             });
-            legacyClasspathFile = writeLcpTask.get().getLegacyClasspathFile();
+            legacyClasspathFile = writeLcpTask.flatMap(WriteLegacyClasspath::getLegacyClasspathFile);
         } else {
             // Disallow adding dependencies to the additional classpath configuration since it would have no effect.
             forbidAdditionalRuntimeDependencies(run.getAdditionalRuntimeClasspathConfiguration(), versionCapabilities);
             legacyClasspathFile = null;
         }
 
+        // Launch with the Java version used in the project
+        var toolchainService = ExtensionUtils.findExtension(project, "javaToolchains", JavaToolchainService.class);
+        var javaLauncher = toolchainService.launcherFor(spec -> spec.getLanguageVersion().set(javaExtension.getToolchain().getLanguageVersion()));
+
+        var isBenchmark = run.getType().map(RunModel.BENCHMARK_TYPE::equals).orElse(false);
+        var benchmarkRecording = RunUtils.getArgFile(argFileDir, run, RunUtils.RunArgFile.BENCHMARK_RECORDING);
+
         var prepareRunTask = tasks.register(InternalModelHelper.nameOfRun(run, "prepare", "run"), PrepareRun.class, task -> {
             task.setGroup(branding.internalTaskGroup());
             task.setDescription("Prepares all files needed to launch the " + run.getName() + " Minecraft run.");
@@ -385,10 +464,23 @@ public class ModDevRunWorkflow {
             }));
             task.getMainClass().set(run.getMainClass());
             task.getProgramArguments().set(run.getProgramArguments());
+            task.getProgramArguments().addAll(isBenchmark.map(benchmark -> benchmark ? List.of("--nogui") : List.of()));
             task.getJvmArguments().set(run.getJvmArguments());
+            task.getJvmArguments().addAll(isBenchmark.map(benchmark -> benchmark ? List.of(getBenchmarkRecordingArgument(run, benchmarkRecording)) : List.of()));
+            task.getDefaultServerProperties().putAll(isBenchmark.flatMap(benchmark -> benchmark
+                    ? run.getBenchmark().getSeed().zip(run.getBenchmark().getLevelType(), (seed, levelType) -> Map.of("level-seed", seed, "level-type", levelType))
+                    : project.getProviders().provider(Map::<String, String>of)));
             task.getGameLogLevel().set(run.getLogLevel());
             task.getDevLogin().set(run.getDevLogin());
             task.getVersionCapabilities().set(versionCapabilities);
+            task.getJvmPreset().set(run.getJvmPreset());
+            task.getRuntimeJavaVersion().set(javaLauncher.map(launcher -> launcher.getMetadata().getLanguageVersion().asInt()));
+            // Data runs additionally get arguments for running as part of runAllData
+            var isDataRun = run.getType().map(RunDataInParallel.DATA_RUN_TYPES::contains).orElse(false);
+            var stagingDirectory = getParallelDataStagingDirectory(argFileDir, run);
+            task.getStagedDataOutputDirectory().set(isDataRun.map(dataRun -> dataRun ? stagingDirectory.get().getAsFile().getAbsolutePath() : null));
+            var stagedDataProgramArgsFile = RunUtils.getArgFile(argFileDir, run, RunUtils.RunArgFile.PARALLEL_DATA_PROGRAMARGS);
+            task.getStagedDataProgramArgsFile().set(isDataRun.flatMap(dataRun -> dataRun ? stagedDataProgramArgsFile : project.getProviders().provider(() -> null)));
         });
         ideIntegration.runTaskOnProjectSync(prepareRunTask);
 
@@ -402,39 +494,111 @@ public class ModDevRunWorkflow {
             task.getRuntimeClasspath().from(run.getSourceSet().map(SourceSet::getRuntimeClasspath));
             task.getLaunchScript().set(RunUtils.getLaunchScript(argFileDir, run));
             task.getClasspathArgsFile().set(RunUtils.getArgFile(argFileDir, run, RunUtils.RunArgFile.CLASSPATH));
-            task.getVmArgsFile().set(prepareRunTask.get().getVmArgsFile().map(d -> d.getAsFile().getAbsolutePath()));
-            task.getProgramArgsFile().set(prepareRunTask.get().getProgramArgsFile().map(d -> d.getAsFile().getAbsolutePath()));
+            task.getVmArgsFile().set(prepareRunTask.flatMap(PrepareRun::getVmArgsFile).map(d -> d.getAsFile().getAbsolutePath()));
+            task.getProgramArgsFile().set(prepareRunTask.flatMap(PrepareRun::getProgramArgsFile).map(d -> d.getAsFile().getAbsolutePath()));
             task.getEnvironment().set(run.getEnvironment());
             task.getModFolders().set(RunUtils.getGradleModFoldersProvider(project, run.getLoadedMods(), null));
         });
         createLaunchScriptsTask.configure(task -> task.dependsOn(launchScriptTask));
 
+        tasks.register(InternalModelHelper.nameOfRun(run, "create", "launcherBundle"), CreateLauncherBundle.class, task -> {
+            task.setGroup(branding.internalTaskGroup());
+            task.setDescription("Creates a directory with everything needed to launch the " + run.getName() + " Minecraft run repeatedly without Gradle.");
+
+            task.getWorkingDirectory().set(run.getGameDirectory().map(d -> d.getAsFile().getAbsolutePath()));
+            task.getRuntimeClasspath().from(run.getSourceSet().map(SourceSet::getRuntimeClasspath));
+            task.getModules().from(modulePathConfiguration);
+            if (legacyClasspathFile != null) {
+                task.getLegacyClasspathFile().set(legacyClasspathFile);
+            }
+            task.getLog4jConfigFile().set(prepareRunTask.flatMap(PrepareRun::getLog4jConfigFile));
+            task.getVmArgsFile().set(prepareRunTask.flatMap(PrepareRun::getVmArgsFile));
+            task.getProgramArgsFile().set(prepareRunTask.flatMap(PrepareRun::getProgramArgsFile));
+            task.getEnvironment().set(run.getEnvironment());
+            task.getModFolders().set(RunUtils.getGradleModFoldersProvider(project, run.getLoadedMods(), null));
+            task.getBundleDirectory().set(argFileDir.map(dir -> dir.dir("launcherBundles/" + run.getName())));
+        });
+
         tasks.register(InternalModelHelper.nameOfRun(run, "run", ""), RunGameTask.class, task -> {
             task.setGroup(branding.publicTaskGroup());
             task.setDescription("Runs the " + run.getName() + " Minecraft run configuration.");
 
-            // Launch with the Java version used in the project
-            var toolchainService = ExtensionUtils.findExtension(project, "javaToolchains", JavaToolchainService.class);
-            task.getJavaLauncher().set(toolchainService.launcherFor(spec -> spec.getLanguageVersion().set(javaExtension.getToolchain().getLanguageVersion())));
+            task.getJavaLauncher().set(javaLauncher);
             // Note: this contains both the runtimeClasspath configuration and the sourceset's outputs.
             // This records a dependency on compiling and processing the resources of the source set.
             task.getClasspathProvider().from(run.getSourceSet().map(SourceSet::getRuntimeClasspath));
             task.getGameDirectory().set(run.getGameDirectory());
 
             task.getEnvironmentProperty().set(run.getEnvironment());
-            task.jvmArgs(RunUtils.getArgFileParameter(prepareRunTask.get().getVmArgsFile().get()).replace("\\", "\\\\"));
+            task.getVmArgsFile().set(prepareRunTask.flatMap(PrepareRun::getVmArgsFile));
             task.getMainClass().set(RunUtils.DEV_LAUNCH_MAIN_CLASS);
-            task.args(RunUtils.getArgFileParameter(prepareRunTask.get().getProgramArgsFile().get()).replace("\\", "\\\\"));
+            task.getProgramArgsFile().set(prepareRunTask.flatMap(PrepareRun::getProgramArgsFile));
             // Of course we need the arg files to be up-to-date ;)
             task.dependsOn(prepareRunTask);
             task.dependsOn(run.getTasksBefore());
 
             task.getJvmArgumentProviders().add(RunUtils.getGradleModFoldersProvider(project, run.getLoadedMods(), null));
+
+            // Benchmarks stop the server shortly after the recording has ended
+            task.getStopAfter().set(isBenchmark.map(benchmark -> {
+                if (!benchmark) {
+                    return null;
+                }
+                return run.getBenchmark().getWarmup().get().plus(run.getBenchmark().getDuration().get()).plusSeconds(5);
+            }));
+
+            // Incremental data runs declare their output directory so that they can be up-to-date and cached.
+            // Everything else that affects data generation is either on the classpath or in the argument files.
+            // All other runs have to launch the game every time they are invoked.
+            var incrementalDataOutput = run.getType().map(RunDataInParallel.DATA_RUN_TYPES::contains).orElse(false)
+                    .zip(run.getIncrementalData(), (dataRun, incremental) -> dataRun && incremental)
+                    .flatMap(incremental -> incremental
+                            ? run.getGameDirectory().zip(run.getProgramArguments(),
+                                    (gameDirectory, programArguments) -> RunDataInParallel.resolveOutputDirectory(gameDirectory.getAsFile(), programArguments))
+                            : project.getProviders().provider(() -> null));
+            var overlappingResourceDirectory = incrementalDataOutput.map(outputDirectory -> findOverlappingResourceDirectory(project, outputDirectory));
+            var dataOutput = incrementalDataOutput.map(outputDirectory -> findOverlappingResourceDirectory(project, outputDirectory) == null ? outputDirectory : null);
+            var runName = run.getName();
+            task.getOutputs().dir(dataOutput).withPropertyName("dataOutputDirectory").optional();
+            task.getOutputs().cacheIf("Incremental data runs declare their outputs", ignored -> dataOutput.isPresent());
+            task.getOutputs().upToDateWhen(runTask -> {
+                if (overlappingResourceDirectory.isPresent()) {
+                    runTask.getLogger().warn("Ignoring incrementalData for run {}, since its output directory {} overlaps with the resource directory {}. "
+                            + "Gradle would consider the run an undeclared producer of files that are processed as resources and end up on its own classpath.",
+                            runName, incrementalDataOutput.get(), overlappingResourceDirectory.get());
+                }
+                return dataOutput.isPresent();
+            });
         });
 
         return prepareRunTask;
     }
 
+    /**
+     * Finds a resource directory of any source set that overlaps with the given directory.
+     */
+    @Nullable
+    private static File findOverlappingResourceDirectory(Project project, File directory) {
+        var path = directory.toPath().toAbsolutePath().normalize();
+        for (var sourceSet : ExtensionUtils.getSourceSets(project)) {
+            for (var resourceDirectory : sourceSet.getResources().getSrcDirs()) {
+                var resourcePath = resourceDirectory.toPath().toAbsolutePath().normalize();
+                if (path.startsWith(resourcePath) || resourcePath.startsWith(path)) {
+                    return resourceDirectory;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String getBenchmarkRecordingArgument(RunModel run, Provider<RegularFile> recording) {
+        var benchmark = run.getBenchmark();
+        return "-XX:StartFlightRecording=settings=profile,dumponexit=true"
+                + ",delay=" + benchmark.getWarmup().get().toSeconds() + "s"
+                + ",duration=" + benchmark.getDuration().get().toSeconds() + "s"
+                + ",filename=" + recording.get().getAsFile().getAbsolutePath();
+    }
+
     /**
      * @see #setupRunInGradle for a description of the parameters
      */
@@ -448,7 +612,8 @@ public class ModDevRunWorkflow {
             Consumer<Configuration> configureModulePath,
             Consumer<Configuration> configureLegacyClasspath,
             Provider<RegularFile> assetPropertiesFile,
-            VersionCapabilitiesInternal versionCapabilities) {
+            VersionCapabilitiesInternal versionCapabilities,
+            Provider<Integer> shards) {
         var gameDirectory = new File(project.getProjectDir(), JUNIT_GAME_DIR);
 
         var ideIntegration = IdeIntegration.of(project, branding);
@@ -458,7 +623,7 @@ public class ModDevRunWorkflow {
 
         var testRuntimeClasspath = configurations.getByName(JavaPlugin.TEST_RUNTIME_CLASSPATH_CONFIGURATION_NAME);
 
-        var neoForgeModDevModules = project.getConfigurations().create("neoForgeTestModules", spec -> {
+        var neoForgeModDevModules = configurations.register("neoForgeTestModules", spec -> {
             spec.setDescription("Libraries that should be placed on the JVMs boot module path for unit tests.");
             spec.setCanBeResolved(true);
             spec.setCanBeConsumed(false);
@@ -471,7 +636,7 @@ public class ModDevRunWorkflow {
 
         Provider<RegularFile> legacyClasspathFile;
         if (versionCapabilities.legacyClasspath()) {
-            var legacyClasspathConfiguration = configurations.create("neoForgeTestLibraries", spec -> {
+            var legacyClasspathConfiguration = configurations.register("neoForgeTestLibraries", spec -> {
                 spec.setDescription("Contains the legacy classpath of unit tests.");
                 spec.setCanBeResolved(true);
                 spec.setCanBeConsumed(false);
@@ -489,7 +654,7 @@ public class ModDevRunWorkflow {
                 writeLcp.getLegacyClasspathFile().convention(runArgsDir.map(dir -> dir.file("legacyClasspath.txt")));
                 writeLcp.addEntries(legacyClasspathConfiguration);
             });
-            legacyClasspathFile = writeLcpTask.get().getLegacyClasspathFile();
+            legacyClasspathFile = writeLcpTask.flatMap(WriteLegacyClasspath::getLegacyClasspathFile);
         } else {
             legacyClasspathFile = null;
         }
@@ -511,31 +676,94 @@ public class ModDevRunWorkflow {
             }
             task.getAssetProperties().set(assetPropertiesFile);
             task.getGameLogLevel().set(Level.INFO);
+            task.getVersionCapabilities().set(versionCapabilities);
         });
 
         // Ensure the test files are written on sync so that users who use IDE-only tests can run them
         ideIntegration.runTaskOnProjectSync(prepareTask);
 
-        testTask.configure(task -> {
-            task.dependsOn(prepareTask);
-
-            // The FML JUnit plugin uses this system property to read a
-            // file containing the program arguments needed to launch
-            task.systemProperty("fml.junit.argsfile", programArgsFile.get().getAsFile().getAbsolutePath());
-            task.jvmArgs(RunUtils.getArgFileParameter(vmArgsFile.get()));
-
-            var modFoldersProvider = RunUtils.getGradleModFoldersProvider(project, loadedMods, testedMod);
-            task.getJvmArgumentProviders().add(modFoldersProvider);
-        });
+        testTask.configure(task -> configureTestJvm(project, task, prepareTask, programArgsFile, vmArgsFile, loadedMods, testedMod, gameDirectory));
 
         project.afterEvaluate(p -> {
-            // Test tasks don't have a provider-based property for working directory, so we need to afterEvaluate it.
-            testTask.configure(task -> task.setWorkingDir(gameDirectory));
+            // The number of tasks we have to register is only known once the build script has been evaluated
+            var shardCount = shards.get();
+            if (shardCount < 1) {
+                throw new InvalidUserCodeException("The number of unit test shards must be at least 1, but is " + shardCount);
+            }
+            for (var shard = 1; shard < shardCount; shard++) {
+                var shardName = "shard" + (shard + 1);
+                var shardGameDirectory = new File(project.getProjectDir(), JUNIT_GAME_DIR + "-" + shardName);
+                prepareTask.configure(task -> task.getAdditionalGameDirectories().from(shardGameDirectory));
+                var shardTask = registerTestShard(project, testTask, shard, shardCount);
+                shardTask.configure(task -> configureTestJvm(project, task, prepareTask, programArgsFile, vmArgsFile, loadedMods, testedMod, shardGameDirectory));
+                testTask.configure(task -> task.dependsOn(shardTask));
+            }
+            if (shardCount > 1) {
+                testTask.configure(task -> task.exclude(element -> !isInTestShard(element, 0, shardCount)));
+            }
         });
 
         ideIntegration.configureTesting(loadedMods, testedMod, runArgsDir, gameDirectory, programArgsFile, vmArgsFile);
     }
 
+    /**
+     * Configures a test task to launch the game using the files written by the test preparation task.
+     */
+    private static void configureTestJvm(Project project,
+            Test task,
+            TaskProvider<PrepareTest> prepareTask,
+            Provider<RegularFile> programArgsFile,
+            Provider<RegularFile> vmArgsFile,
+            Provider<Set<ModModel>> loadedMods,
+            Provider<ModModel> testedMod,
+            File gameDirectory) {
+        task.dependsOn(prepareTask);
+
+        var argFilesProvider = project.getObjects().newInstance(TestArgFilesProvider.class);
+        argFilesProvider.getProgramArgsFile().set(programArgsFile);
+        argFilesProvider.getVmArgsFile().set(vmArgsFile);
+        task.getJvmArgumentProviders().add(argFilesProvider);
+        // Test tasks don't have a provider-based property for working directory, but ours is fixed anyway
+        task.setWorkingDir(gameDirectory);
+
+        var modFoldersProvider = RunUtils.getGradleModFoldersProvider(project, loadedMods, testedMod);
+        task.getJvmArgumentProviders().add(modFoldersProvider);
+    }
+
+    /**
+     * Since the game directory of FML JUnit is the working directory of the test JVM, tests can only be
+     * run in parallel by separate test tasks. Each shard runs the test classes whose name hashes to its index.
+     * The classes and classpath of the original test task, which runs the first shard, are wired lazily.
+     * Other settings of the original test task are not copied, and can be shared using {@code tasks.withType(Test)}.
+     */
+    private static TaskProvider<Test> registerTestShard(Project project, TaskProvider<Test> testTask, int shard, int shardCount) {
+        return project.getTasks().register(testTask.getName() + "Shard" + (shard + 1), Test.class, task -> {
+            task.setGroup(LifecycleBasePlugin.VERIFICATION_GROUP);
+            task.setDescription("Runs shard " + (shard + 1) + " of " + shardCount + " of the " + testTask.getName() + " task.");
+            task.setTestClassesDirs(project.files(testTask.map(Test::getTestClassesDirs)));
+            task.setClasspath(project.files(testTask.map(Test::getClasspath)));
+            task.getJavaLauncher().set(testTask.flatMap(Test::getJavaLauncher));
+            task.useJUnitPlatform();
+            task.getFilter().setFailOnNoMatchingTests(false);
+            task.exclude(element -> !isInTestShard(element, shard, shardCount));
+        });
+    }
+
+    /**
+     * Nested classes are kept in the same shard as their top-level class.
+     */
+    static boolean isInTestShard(FileTreeElement element, int shard, int shardCount) {
+        return element.isDirectory() || isInTestShard(element.getRelativePath().getPathString(), shard, shardCount);
+    }
+
+    static boolean isInTestShard(String path, int shard, int shardCount) {
+        var end = path.indexOf('$');
+        if (end == -1) {
+            end = path.endsWith(".class") ? path.length() - ".class".length() : path.length();
+        }
+        return Math.floorMod(path.substring(0, end).hashCode(), shardCount) == shard;
+    }
+
     private static <T extends Named> void setNamedAttribute(Project project, AttributeContainer attributes, Attribute<T> attribute, String value) {
         attributes.attribute(attribute, project.getObjects().named(attribute.getType(), value));
     }
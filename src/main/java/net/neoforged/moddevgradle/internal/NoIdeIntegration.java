@@ -9,4 +9,13 @@ final class NoIdeIntegration extends IdeIntegration {
     public NoIdeIntegration(Project project, Branding branding) {
         super(project, branding);
     }
+
+    /**
+     * Builds on CI have no use for the sources, while a local build may produce the sources for an IDE that
+     * synchronizes the project later.
+     */
+    @Override
+    boolean shouldCreateSourcesArtifact() {
+        return !"true".equals(System.getenv("CI"));
+    }
 }
@@ -1,10 +1,20 @@
 package net.neoforged.moddevgradle.internal;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import javax.inject.Inject;
+import net.neoforged.moddevgradle.dsl.RunModel;
+import net.neoforged.moddevgradle.internal.utils.FileUtils;
 import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -18,6 +28,27 @@ abstract class PrepareRun extends PrepareRunOrTest {
     @Input
     public abstract Property<String> getMainClass();
 
+    /**
+     * Written to {@code server.properties} in the game directory for benchmark runs, if that file doesn't exist yet.
+     */
+    @Input
+    public abstract MapProperty<String, String> getDefaultServerProperties();
+
+    /**
+     * For data runs: where {@link RunDataInParallel} lets this run write its generated files.
+     */
+    @Input
+    @Optional
+    public abstract Property<String> getStagedDataOutputDirectory();
+
+    /**
+     * For data runs: a variant of the program arguments file that redirects the output to
+     * {@link #getStagedDataOutputDirectory()}.
+     */
+    @OutputFile
+    @Optional
+    public abstract RegularFileProperty getStagedDataProgramArgsFile();
+
     @Inject
     public PrepareRun() {
         super(ProgramArgsFormat.JVM_ARGFILE);
@@ -28,13 +59,50 @@ abstract class PrepareRun extends PrepareRunOrTest {
         if (getRunType().get().equals("junit")) {
             throw new GradleException("The junit run type cannot be used for normal NeoForge runs. Available run types: " + userDevConfig.runs().keySet());
         }
-        var runConfig = userDevConfig.runs().get(getRunType().get());
+        // Benchmarks are dedicated servers, driven by MDG
+        var runType = isBenchmark() ? "server" : getRunType().get();
+        var runConfig = userDevConfig.runs().get(runType);
         if (runConfig == null) {
             throw new GradleException("Trying to prepare unknown run: " + getRunType().get() + ". Available run types: " + userDevConfig.runs().keySet());
         }
         return runConfig;
     }
 
+    @Override
+    protected void prepareGameDirectory(File gameDirectory) throws IOException {
+        if (!isBenchmark()) {
+            return;
+        }
+
+        // The dedicated server stops right after startup until the EULA is accepted
+        var eula = new File(gameDirectory, "eula.txt");
+        if (!eula.exists()) {
+            FileUtils.writeLinesSafe(eula.toPath(), List.of(
+                    "# Written by ModDevGradle for benchmark runs. See https://aka.ms/MinecraftEULA",
+                    "eula=true"), StandardCharsets.UTF_8);
+        }
+
+        var serverProperties = new File(gameDirectory, "server.properties");
+        if (serverProperties.exists()) {
+            return;
+        }
+
+        var lines = new ArrayList<String>();
+        lines.add("# Written by ModDevGradle for benchmark runs. Delete this file to reset it.");
+        for (var entry : getDefaultServerProperties().get().entrySet()) {
+            lines.add(entry.getKey() + "=" + entry.getValue());
+        }
+        FileUtils.writeLinesSafe(serverProperties.toPath(), lines, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void writeAdditionalProgramArguments(UserDevRunType runConfig, @Nullable String mainClass) throws IOException {
+        if (getStagedDataOutputDirectory().isPresent() && getStagedDataProgramArgsFile().isPresent()) {
+            var programArguments = RunDataInParallel.replaceOutputDirectory(getProgramArguments().get(), getStagedDataOutputDirectory().get());
+            writeProgramArguments(runConfig, mainClass, programArguments, getStagedDataProgramArgsFile().get().getAsFile().toPath());
+        }
+    }
+
     @Override
     @Nullable
     protected String resolveMainClass(UserDevRunType runConfig) {
@@ -45,4 +113,8 @@ abstract class PrepareRun extends PrepareRunOrTest {
     protected boolean isClientDistribution() {
         return getRunType().get().equals("client") || getRunType().get().equals("data");
     }
+
+    private boolean isBenchmark() {
+        return getRunType().get().equals(RunModel.BENCHMARK_TYPE);
+    }
 }
@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -12,7 +13,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.zip.ZipFile;
+import net.neoforged.moddevgradle.dsl.JvmPreset;
 import net.neoforged.moddevgradle.internal.utils.FileUtils;
+import net.neoforged.moddevgradle.internal.utils.ModDevMetrics;
 import net.neoforged.moddevgradle.internal.utils.OperatingSystem;
 import net.neoforged.moddevgradle.internal.utils.StringUtils;
 import net.neoforged.moddevgradle.internal.utils.VersionCapabilitiesInternal;
@@ -124,16 +127,43 @@ abstract class PrepareRunOrTest extends DefaultTask {
     @Input
     public abstract Property<Boolean> getDevLogin();
 
+    /**
+     * The Java version of the JVM that launches the game, which decides which JVM flags can be used.
+     * Defaults to the Java version required by the game.
+     */
+    @Input
+    @Optional
+    public abstract Property<Integer> getRuntimeJavaVersion();
+
+    /**
+     * Garbage collector and heap settings to add before the user supplied JVM arguments.
+     */
+    @Input
+    @Optional
+    public abstract Property<JvmPreset> getJvmPreset();
+
+    @Internal
+    protected abstract Property<ModDevMetrics> getMetrics();
+
     private final ProgramArgsFormat programArgsFormat;
 
     protected PrepareRunOrTest(ProgramArgsFormat programArgsFormat) {
         this.programArgsFormat = programArgsFormat;
         getVersionCapabilities().convention(VersionCapabilitiesInternal.latest());
         getDevLogin().convention(false);
+
+        var metrics = ModDevMetrics.register(getProject());
+        getMetrics().set(metrics);
+        usesService(metrics);
     }
 
     protected abstract UserDevRunType resolveRunType(UserDevConfig userDevConfig);
 
+    /**
+     * Called after the game directory has been created to place additional files in it.
+     */
+    protected void prepareGameDirectory(File gameDirectory) throws IOException {}
+
     @Nullable
     protected abstract String resolveMainClass(UserDevRunType runConfig);
 
@@ -160,10 +190,18 @@ abstract class PrepareRunOrTest extends DefaultTask {
 
     @TaskAction
     public void prepareRun() throws IOException {
+        try (var operation = getMetrics().get().start("prepareRun", getPath())) {
+            prepare();
+            operation.detail("argumentFileBytes", getVmArgsFile().get().getAsFile().length() + getProgramArgsFile().get().getAsFile().length());
+        }
+    }
+
+    private void prepare() throws IOException {
         // Make sure the run directory exists
         // IntelliJ refuses to start a run configuration whose working directory does not exist
         var runDir = getGameDirectory().get().getAsFile();
         Files.createDirectories(runDir.toPath());
+        prepareGameDirectory(runDir);
 
         // If no NeoForge userdev config is set, we only support Vanilla run types
         UserDevRunType runConfig;
@@ -186,7 +224,8 @@ abstract class PrepareRunOrTest extends DefaultTask {
         }
 
         writeJvmArguments(runConfig, sysProps);
-        writeProgramArguments(runConfig, mainClass);
+        writeProgramArguments(runConfig, mainClass, getProgramArguments().get(), getProgramArgsFile().get().getAsFile().toPath());
+        writeAdditionalProgramArguments(runConfig, mainClass);
     }
 
     private UserDevConfig loadUserDevConfig(File userDevFile) {
@@ -241,6 +280,15 @@ abstract class PrepareRunOrTest extends DefaultTask {
         lines.addAll(getInterpolatedJvmArgs(runConfig));
 
         var userJvmArgs = getJvmArguments().get();
+        if (getJvmPreset().isPresent()) {
+            var javaVersion = RunUtils.getLaunchJavaVersion(getRuntimeJavaVersion().getOrNull(), getVersionCapabilities().get().javaVersion());
+            lines.add("");
+            lines.add("# JVM Preset " + getJvmPreset().get());
+            for (var presetArg : RunUtils.getJvmPresetArguments(getJvmPreset().get(), javaVersion, userJvmArgs)) {
+                lines.add(RunUtils.escapeJvmArg(presetArg));
+            }
+        }
+
         if (!userJvmArgs.isEmpty()) {
             lines.add("");
             lines.add("# User JVM Arguments");
@@ -282,7 +330,12 @@ abstract class PrepareRunOrTest extends DefaultTask {
                 StringUtils.getNativeCharset());
     }
 
-    private void writeProgramArguments(UserDevRunType runConfig, @Nullable String mainClass) throws IOException {
+    /**
+     * Called after the program arguments file has been written to write variations of it.
+     */
+    protected void writeAdditionalProgramArguments(UserDevRunType runConfig, @Nullable String mainClass) throws IOException {}
+
+    protected final void writeProgramArguments(UserDevRunType runConfig, @Nullable String mainClass, List<String> userArgs, Path destination) throws IOException {
         var lines = new ArrayList<String>();
 
         if (mainClass != null) {
@@ -310,7 +363,7 @@ abstract class PrepareRunOrTest extends DefaultTask {
         lines.add("");
 
         lines.add("# User Supplied Program Arguments");
-        for (var arg : getProgramArguments().get()) {
+        for (var arg : userArgs) {
             // FML JUnit simply expects one line per argument
             if (programArgsFormat == ProgramArgsFormat.FML_JUNIT) {
                 lines.add(arg);
@@ -328,7 +381,7 @@ abstract class PrepareRunOrTest extends DefaultTask {
         }
 
         FileUtils.writeLinesSafe(
-                getProgramArgsFile().get().getAsFile().toPath(),
+                destination,
                 lines,
                 // FML Junit and DevLaunch (starting in 1.0.1) read this file using UTF-8
                 StandardCharsets.UTF_8);
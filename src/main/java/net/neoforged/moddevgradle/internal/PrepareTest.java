@@ -1,10 +1,21 @@
 package net.neoforged.moddevgradle.internal;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import javax.inject.Inject;
 import org.gradle.api.GradleException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.tasks.Internal;
 import org.jetbrains.annotations.Nullable;
 
 abstract class PrepareTest extends PrepareRunOrTest {
+    /**
+     * Game directories of additional test shards, which share the argument files with the main game directory.
+     */
+    @Internal
+    public abstract ConfigurableFileCollection getAdditionalGameDirectories();
+
     @Inject
     public PrepareTest() {
         super(ProgramArgsFormat.FML_JUNIT);
@@ -19,6 +30,13 @@ abstract class PrepareTest extends PrepareRunOrTest {
         return runConfig;
     }
 
+    @Override
+    protected void prepareGameDirectory(File gameDirectory) throws IOException {
+        for (var additionalGameDirectory : getAdditionalGameDirectories()) {
+            Files.createDirectories(additionalGameDirectory.toPath());
+        }
+    }
+
     @Override
     @Nullable
     protected String resolveMainClass(UserDevRunType runConfig) {
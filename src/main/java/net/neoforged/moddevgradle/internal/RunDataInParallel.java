@@ -0,0 +1,366 @@
+package net.neoforged.moddevgradle.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.inject.Inject;
+import net.neoforged.moddevgradle.dsl.InternalModelHelper;
+import net.neoforged.moddevgradle.internal.utils.FileUtils;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.InvalidUserCodeException;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.jvm.toolchain.JavaLauncher;
+import org.gradle.process.ExecOperations;
+import org.gradle.work.DisableCachingByDefault;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runs several data generation runs concurrently, each in its own JVM.
+ * <p>
+ * Every run writes into its own staging directory, which is then merged into the output directory configured
+ * for the run. The task fails without changing the output directories if two runs generate different content
+ * for the same file.
+ */
+@DisableCachingByDefault(because = "Data generation runs user code with undeclared inputs")
+abstract class RunDataInParallel extends DefaultTask {
+    static final Set<String> DATA_RUN_TYPES = InternalModelHelper.DATA_RUN_TYPES;
+
+    private static final String OUTPUT_OPTION = "--output";
+
+    /**
+     * Vanilla data generation writes to this directory, relative to the game directory, if no output is given.
+     */
+    private static final String DEFAULT_OUTPUT = "generated";
+
+    /**
+     * Vanilla data generation keeps the hashes of generated files here, relative to the output directory.
+     * These are specific to each run and are left in the staging directory.
+     */
+    private static final String CACHE_DIRECTORY = ".cache";
+
+    /**
+     * Lists the files copied into an output directory by the last merge, relative to the output directory.
+     */
+    private static final String MERGED_FILES_LIST = CACHE_DIRECTORY + "/runAllData.txt";
+
+    @Nested
+    public abstract ListProperty<DataRun> getDataRuns();
+
+    /**
+     * How many data runs may be running at the same time.
+     */
+    @Internal
+    public abstract Property<Integer> getMaxParallelRuns();
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @Inject
+    public RunDataInParallel() {
+        getMaxParallelRuns().convention(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    @TaskAction
+    public void runAll() throws IOException {
+        var dataRuns = getDataRuns().get();
+        var runsByGameDirectory = new HashMap<File, String>();
+        for (var dataRun : dataRuns) {
+            var otherRun = runsByGameDirectory.putIfAbsent(dataRun.getGameDirectory().get().getAsFile(), dataRun.getRunName().get());
+            if (otherRun != null) {
+                throw new InvalidUserCodeException("The data runs " + otherRun + " and " + dataRun.getRunName().get()
+                        + " use the same game directory and cannot run in parallel. Set a separate gameDirectory for each of them.");
+            }
+        }
+
+        var executor = Executors.newFixedThreadPool(Math.max(1, Math.min(dataRuns.size(), getMaxParallelRuns().get())));
+        var failures = new ArrayList<String>();
+        try {
+            var futures = new LinkedHashMap<DataRun, Future<?>>();
+            for (var dataRun : dataRuns) {
+                futures.put(dataRun, executor.submit(() -> {
+                    execute(dataRun);
+                    return null;
+                }));
+            }
+            for (var entry : futures.entrySet()) {
+                try {
+                    entry.getValue().get();
+                } catch (ExecutionException e) {
+                    var dataRun = entry.getKey();
+                    getLogger().error("Data run {} failed", dataRun.getRunName().get(), e.getCause());
+                    failures.add(" - " + dataRun.getRunName().get() + ": see " + dataRun.getLogFile().get().getAsFile());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GradleException("Interrupted while waiting for data runs to finish", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (!failures.isEmpty()) {
+            throw new GradleException("Data generation failed:\n" + String.join("\n", failures));
+        }
+
+        var stagingDirectories = new LinkedHashMap<String, Path>();
+        var outputDirectories = new HashMap<String, Path>();
+        for (var dataRun : dataRuns) {
+            stagingDirectories.put(dataRun.getRunName().get(), dataRun.getStagingDirectory().get().getAsFile().toPath());
+            outputDirectories.put(dataRun.getRunName().get(), dataRun.getOutputDirectory().get().getAsFile().toPath());
+        }
+        var conflicts = mergeOutputs(stagingDirectories, outputDirectories);
+        if (!conflicts.isEmpty()) {
+            throw new GradleException("Data runs generated different content for the same files:\n" + String.join("\n", conflicts));
+        }
+    }
+
+    private void execute(DataRun dataRun) throws IOException {
+        Files.createDirectories(dataRun.getGameDirectory().get().getAsFile().toPath());
+        // Files left over from a previous execution would otherwise be merged again
+        getFileSystemOperations().delete(spec -> spec.delete(dataRun.getStagingDirectory()));
+        Files.createDirectories(dataRun.getStagingDirectory().get().getAsFile().toPath());
+
+        var logFile = dataRun.getLogFile().get().getAsFile().toPath();
+        Files.createDirectories(logFile.getParent());
+        getLogger().lifecycle("Starting data run {}, logging to {}", dataRun.getRunName().get(), logFile);
+
+        // The output of concurrent runs would be interleaved, so each run writes to its own log file
+        try (var log = new BufferedOutputStream(Files.newOutputStream(logFile))) {
+            getExecOperations().javaexec(spec -> {
+                spec.setExecutable(dataRun.getJavaLauncher().get().getExecutablePath().getAsFile());
+                spec.classpath(dataRun.getClasspath());
+                spec.getMainClass().set(RunUtils.DEV_LAUNCH_MAIN_CLASS);
+                spec.jvmArgs(RunUtils.getArgFileParameter(dataRun.getVmArgsFile().get()).replace("\\", "\\\\"));
+                spec.getJvmArgumentProviders().add(dataRun.getModFolders().get());
+                spec.args(RunUtils.getArgFileParameter(dataRun.getProgramArgsFile().get()).replace("\\", "\\\\"));
+                spec.environment(dataRun.getEnvironment().get());
+                spec.setWorkingDir(dataRun.getGameDirectory().get().getAsFile());
+                spec.setStandardOutput(log);
+                spec.setErrorOutput(log);
+            });
+        }
+    }
+
+    /**
+     * Copies the files generated by each run into its output directory.
+     * Files that are already up-to-date are not touched. Files that were copied by a previous merge, but weren't
+     * generated again, are deleted. The files copied to an output directory are listed in {@value MERGED_FILES_LIST},
+     * next to the hashes that vanilla data generation keeps.
+     *
+     * @return A description of every file that was generated with different content by more than one run.
+     *         If there is any, nothing is written.
+     */
+    static List<String> mergeOutputs(Map<String, Path> stagingDirectories, Map<String, Path> outputDirectories) throws IOException {
+        var conflicts = new ArrayList<String>();
+        // Output file -> the staged file that is copied to it, and the run that generated it
+        var stagedFiles = new LinkedHashMap<Path, StagedFile>();
+        // Output directory -> the paths of the files copied to it, relative to the directory
+        var mergedFiles = new LinkedHashMap<Path, Set<String>>();
+
+        for (var entry : stagingDirectories.entrySet()) {
+            var runName = entry.getKey();
+            var stagingDirectory = entry.getValue();
+            var outputDirectory = outputDirectories.get(runName).toAbsolutePath().normalize();
+            var mergedIntoOutput = mergedFiles.computeIfAbsent(outputDirectory, ignored -> new TreeSet<>());
+            if (!Files.isDirectory(stagingDirectory)) {
+                continue;
+            }
+
+            List<Path> files;
+            try (var stream = Files.walk(stagingDirectory)) {
+                files = stream.filter(Files::isRegularFile).sorted().toList();
+            }
+
+            for (var stagedFile : files) {
+                var relativePath = stagingDirectory.relativize(stagedFile);
+                if (relativePath.getName(0).toString().equals(CACHE_DIRECTORY)) {
+                    continue;
+                }
+
+                var outputFile = outputDirectory.resolve(relativePath).normalize();
+                var previous = stagedFiles.putIfAbsent(outputFile, new StagedFile(stagedFile, runName));
+                if (previous != null) {
+                    if (!Arrays.equals(Files.readAllBytes(stagedFile), Files.readAllBytes(previous.path()))) {
+                        conflicts.add(" - " + outputFile + " (" + previous.runName() + ", " + runName + ")");
+                    }
+                    continue;
+                }
+                mergedIntoOutput.add(toListEntry(relativePath));
+            }
+        }
+
+        if (!conflicts.isEmpty()) {
+            return conflicts;
+        }
+
+        for (var entry : stagedFiles.entrySet()) {
+            var outputFile = entry.getKey();
+            var stagedFile = entry.getValue().path();
+            if (Files.isRegularFile(outputFile) && Arrays.equals(Files.readAllBytes(stagedFile), Files.readAllBytes(outputFile))) {
+                continue;
+            }
+            Files.createDirectories(outputFile.getParent());
+            Files.copy(stagedFile, outputFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        for (var entry : mergedFiles.entrySet()) {
+            var outputDirectory = entry.getKey();
+            var listFile = outputDirectory.resolve(MERGED_FILES_LIST);
+            if (Files.isRegularFile(listFile)) {
+                for (var previouslyMerged : Files.readAllLines(listFile, StandardCharsets.UTF_8)) {
+                    if (!previouslyMerged.isEmpty() && !entry.getValue().contains(previouslyMerged)) {
+                        Files.deleteIfExists(outputDirectory.resolve(previouslyMerged));
+                    }
+                }
+            }
+            Files.createDirectories(listFile.getParent());
+            FileUtils.writeLinesSafe(listFile, List.copyOf(entry.getValue()), StandardCharsets.UTF_8);
+        }
+
+        return conflicts;
+    }
+
+    private static String toListEntry(Path relativePath) {
+        return relativePath.toString().replace(File.separatorChar, '/');
+    }
+
+    private record StagedFile(Path path, String runName) {}
+
+    /**
+     * Finds the output directory given to data generation in the program arguments.
+     *
+     * @return null if the arguments do not specify it, in which case data generation uses {@value DEFAULT_OUTPUT}.
+     */
+    @Nullable
+    static String findOutputDirectory(List<String> programArguments) {
+        for (var i = 0; i < programArguments.size(); i++) {
+            var arg = programArguments.get(i);
+            if (arg.equals(OUTPUT_OPTION) && i + 1 < programArguments.size()) {
+                return programArguments.get(i + 1);
+            } else if (arg.startsWith(OUTPUT_OPTION + "=")) {
+                return arg.substring(OUTPUT_OPTION.length() + 1);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resolves the output directory of a data run the same way data generation itself does.
+     */
+    static File resolveOutputDirectory(File gameDirectory, List<String> programArguments) {
+        var outputDirectory = findOutputDirectory(programArguments);
+        var file = new File(outputDirectory != null ? outputDirectory : DEFAULT_OUTPUT);
+        return file.isAbsolute() ? file : new File(gameDirectory, file.getPath());
+    }
+
+    /**
+     * Replaces the output directory in the program arguments, or adds it if the arguments do not specify one.
+     */
+    static List<String> replaceOutputDirectory(List<String> programArguments, String outputDirectory) {
+        var result = new ArrayList<String>(programArguments.size() + 2);
+        var replaced = false;
+        for (var i = 0; i < programArguments.size(); i++) {
+            var arg = programArguments.get(i);
+            if (!replaced && arg.equals(OUTPUT_OPTION) && i + 1 < programArguments.size()) {
+                result.add(arg);
+                result.add(outputDirectory);
+                replaced = true;
+                i++;
+            } else if (!replaced && arg.startsWith(OUTPUT_OPTION + "=")) {
+                result.add(OUTPUT_OPTION + "=" + outputDirectory);
+                replaced = true;
+            } else {
+                result.add(arg);
+            }
+        }
+        if (!replaced) {
+            result.add(OUTPUT_OPTION);
+            result.add(outputDirectory);
+        }
+        return result;
+    }
+
+    /**
+     * Everything needed to launch one data run outside of its {@link RunGameTask}.
+     */
+    abstract static class DataRun {
+        @Inject
+        public DataRun() {}
+
+        @Input
+        abstract Property<String> getRunName();
+
+        @Nested
+        abstract Property<JavaLauncher> getJavaLauncher();
+
+        @Classpath
+        @InputFiles
+        abstract ConfigurableFileCollection getClasspath();
+
+        @InputFile
+        @PathSensitive(PathSensitivity.NONE)
+        abstract RegularFileProperty getVmArgsFile();
+
+        /**
+         * The program arguments of the run, with the output redirected to the {@link #getStagingDirectory() staging directory}.
+         */
+        @InputFile
+        @PathSensitive(PathSensitivity.NONE)
+        abstract RegularFileProperty getProgramArgsFile();
+
+        @Nested
+        abstract Property<ModFoldersProvider> getModFolders();
+
+        @Input
+        abstract MapProperty<String, String> getEnvironment();
+
+        @Internal
+        abstract DirectoryProperty getGameDirectory();
+
+        @Internal
+        abstract DirectoryProperty getStagingDirectory();
+
+        /**
+         * The directory the run would write to when launched on its own.
+         */
+        @Internal
+        abstract DirectoryProperty getOutputDirectory();
+
+        @Internal
+        abstract RegularFileProperty getLogFile();
+    }
+}
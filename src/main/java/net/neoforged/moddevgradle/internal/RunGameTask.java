@@ -1,17 +1,26 @@
 package net.neoforged.moddevgradle.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.time.Duration;
 import javax.inject.Inject;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.JavaExec;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.TaskAction;
 import org.gradle.work.DisableCachingByDefault;
 
@@ -31,6 +40,21 @@ public abstract class RunGameTask extends JavaExec {
     @Internal
     public abstract DirectoryProperty getGameDirectory();
 
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getVmArgsFile();
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getProgramArgsFile();
+
+    /**
+     * If set, the {@code stop} command is sent to the standard input of the game after this much time has passed.
+     * This shuts down dedicated servers without any user interaction.
+     */
+    @Internal
+    public abstract Property<Duration> getStopAfter();
+
     @Inject
     public RunGameTask() {}
 
@@ -46,8 +70,43 @@ public abstract class RunGameTask extends JavaExec {
 
         getEnvironment().putAll(getEnvironmentProperty().get());
 
+        if (getStopAfter().isPresent()) {
+            setStandardInput(new DelayedStopCommand(getStopAfter().get()));
+        }
+
         classpath(getClasspathProvider());
+        jvmArgs(RunUtils.getArgFileParameter(getVmArgsFile().get()).replace("\\", "\\\\"));
+        args(RunUtils.getArgFileParameter(getProgramArgsFile().get()).replace("\\", "\\\\"));
         setWorkingDir(runDir);
         super.exec();
     }
+
+    /**
+     * Blocks until the delay has passed, then provides the {@code stop} console command.
+     */
+    private static final class DelayedStopCommand extends InputStream {
+        private final long deadline;
+        private InputStream command;
+
+        DelayedStopCommand(Duration delay) {
+            this.deadline = System.nanoTime() + delay.toNanos();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (command == null) {
+                try {
+                    long remaining;
+                    while ((remaining = deadline - System.nanoTime()) > 0) {
+                        Thread.sleep(Math.max(1, Math.min(remaining / 1_000_000, 1000)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return -1;
+                }
+                command = new ByteArrayInputStream("stop\n".getBytes(StandardCharsets.UTF_8));
+            }
+            return command.read();
+        }
+    }
 }
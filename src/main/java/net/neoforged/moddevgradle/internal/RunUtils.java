@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,6 +14,7 @@ import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import net.neoforged.moddevgradle.dsl.InternalModelHelper;
+import net.neoforged.moddevgradle.dsl.JvmPreset;
 import net.neoforged.moddevgradle.dsl.ModModel;
 import net.neoforged.moddevgradle.dsl.RunModel;
 import net.neoforged.moddevgradle.internal.utils.ExtensionUtils;
@@ -23,13 +25,18 @@ import org.gradle.api.Project;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.Directory;
 import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.MapProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Nested;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.process.CommandLineArgumentProvider;
 import org.jetbrains.annotations.Nullable;
@@ -52,6 +59,59 @@ final class RunUtils {
         return escaped;
     }
 
+    /**
+     * The Java version that JVM flags have to be chosen for. The Java toolchain can be newer than the Java version
+     * required by the game, so the version of the JVM that launches the game is used if it is known.
+     */
+    public static int getLaunchJavaVersion(@Nullable Integer runtimeJavaVersion, int gameJavaVersion) {
+        return runtimeJavaVersion != null ? runtimeJavaVersion : gameJavaVersion;
+    }
+
+    /**
+     * Translates a preset into JVM flags supported by the given Java version.
+     * No garbage collector is selected if the user already selected one, since the JVM refuses to start if more than
+     * one is selected.
+     */
+    public static List<String> getJvmPresetArguments(JvmPreset preset, int javaVersion, List<String> userJvmArgs) {
+        var userSelectedGc = userJvmArgs.stream().anyMatch(arg -> arg.startsWith("-XX:+Use") && arg.endsWith("GC"));
+
+        var result = new ArrayList<String>();
+        switch (preset) {
+            case LOW_LATENCY_CLIENT -> {
+                if (!userSelectedGc) {
+                    if (javaVersion >= 21) {
+                        result.add("-XX:+UseZGC");
+                        // Generational mode is the default starting with Java 23, which deprecated the flag.
+                        // Java 24 removed the non-generational mode, and the flag with it.
+                        if (javaVersion < 23) {
+                            result.add("-XX:+ZGenerational");
+                        }
+                    } else {
+                        result.add("-XX:+UseG1GC");
+                        result.add("-XX:MaxGCPauseMillis=50");
+                    }
+                }
+                result.add("-XX:MaxRAMPercentage=50");
+            }
+            case THROUGHPUT_SERVER -> {
+                if (!userSelectedGc) {
+                    result.add("-XX:+UseG1GC");
+                    result.add("-XX:MaxGCPauseMillis=200");
+                }
+                result.add("-XX:InitialRAMPercentage=25");
+                result.add("-XX:MaxRAMPercentage=25");
+                result.add("-XX:+AlwaysPreTouch");
+            }
+            case MINIMAL_DATA_GEN -> {
+                if (!userSelectedGc) {
+                    result.add("-XX:+UseParallelGC");
+                }
+                result.add("-XX:TieredStopAtLevel=1");
+            }
+        }
+        return result;
+    }
+
     public static Provider<String> getRequiredType(Project project, RunModel runModel) {
         return runModel.getType().orElse(project.getProviders().provider(() -> {
             throw new GradleException("The run '" + runModel.getName() + "' did not specify a type property");
@@ -158,7 +218,11 @@ final class RunUtils {
         VMARGS("runVmArgs.txt"),
         PROGRAMARGS("runProgramArgs.txt"),
         CLASSPATH("runClasspath.txt"),
-        LOG4J_CONFIG("log4j2.xml");
+        LOG4J_CONFIG("log4j2.xml"),
+        BENCHMARK_RECORDING("benchmark.jfr"),
+        BENCHMARK_REPORT("benchmarkReport.json"),
+        PARALLEL_DATA_PROGRAMARGS("parallelDataProgramArgs.txt"),
+        PARALLEL_DATA_LOG("parallelData.log");
 
         private final String filename;
 
@@ -298,6 +362,31 @@ abstract class ModFoldersProvider implements CommandLineArgumentProvider {
     }
 }
 
+/**
+ * Passes the argument files written by {@link PrepareTest} to the test JVM.
+ */
+abstract class TestArgFilesProvider implements CommandLineArgumentProvider {
+    @Inject
+    public TestArgFilesProvider() {}
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    abstract RegularFileProperty getProgramArgsFile();
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    abstract RegularFileProperty getVmArgsFile();
+
+    @Override
+    public Iterable<String> asArguments() {
+        return List.of(
+                // The FML JUnit plugin uses this system property to read a
+                // file containing the program arguments needed to launch
+                "-Dfml.junit.argsfile=" + getProgramArgsFile().get().getAsFile().getAbsolutePath(),
+                RunUtils.getArgFileParameter(getVmArgsFile().get()));
+    }
+}
+
 abstract class ModFolder {
     @Inject
     public ModFolder() {}
@@ -6,6 +6,7 @@ import org.jetbrains.annotations.ApiStatus;
 public enum WorkflowArtifact {
     COMPILED(""),
     COMPILED_WITH_SOURCES("-merged"),
+    COMPILED_ABI("-abi"),
     SOURCES("-sources"),
     CLIENT_RESOURCES("-client-extra-aka-minecraft-resources");
 
@@ -8,7 +8,9 @@ import javax.inject.Inject;
 import net.neoforged.moddevgradle.internal.utils.FileUtils;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.ProviderFactory;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
@@ -17,12 +19,18 @@ abstract class WriteLegacyClasspath extends DefaultTask {
     @Inject
     public WriteLegacyClasspath() {}
 
+    @Inject
+    protected abstract ObjectFactory getObjects();
+
+    @Inject
+    protected abstract ProviderFactory getProviders();
+
     @Input
     abstract ListProperty<String> getEntries();
 
     void addEntries(Object... filesNotation) {
-        var files = getProject().files(filesNotation);
-        getEntries().addAll(getProject().provider(() -> {
+        var files = getObjects().fileCollection().from(filesNotation);
+        getEntries().addAll(getProviders().provider(() -> {
             // Use a provider indirection to remove task dependencies.
             // Use file names only.
             return files.getFiles().stream()
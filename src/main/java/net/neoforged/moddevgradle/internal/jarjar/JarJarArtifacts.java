@@ -82,7 +82,7 @@ public abstract class JarJarArtifacts {
         }
     }
 
-    private static List<ResolvedJarJarArtifact> getIncludedJars(Set<ResolvedComponentResult> rootComponents, Set<ResolvedArtifactResult> artifacts) {
+    static List<ResolvedJarJarArtifact> getIncludedJars(Set<ResolvedComponentResult> rootComponents, Set<ResolvedArtifactResult> artifacts) {
         Map<ContainedJarIdentifier, String> versions = new HashMap<>();
         Map<ContainedJarIdentifier, String> versionRanges = new HashMap<>();
         Set<ContainedJarIdentifier> knownIdentifiers = new HashSet<>();
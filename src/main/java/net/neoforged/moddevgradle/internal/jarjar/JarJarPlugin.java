@@ -2,6 +2,7 @@ package net.neoforged.moddevgradle.internal.jarjar;
 
 import net.neoforged.moddevgradle.internal.Branding;
 import net.neoforged.moddevgradle.internal.utils.ExtensionUtils;
+import net.neoforged.moddevgradle.internal.utils.ModDevMetrics;
 import net.neoforged.moddevgradle.tasks.JarJar;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
@@ -12,6 +13,12 @@ import org.jetbrains.annotations.ApiStatus;
 public class JarJarPlugin implements Plugin<Project> {
     @Override
     public void apply(Project project) {
+        var metrics = ModDevMetrics.register(project);
+        project.getTasks().withType(JarJar.class).configureEach(task -> {
+            task.getMetrics().set(metrics);
+            task.usesService(metrics);
+        });
+
         var sourceSets = ExtensionUtils.getSourceSets(project);
         sourceSets.all(sourceSet -> {
             var jarJarTask = JarJar.registerWithConfiguration(project, sourceSet.getTaskName(null, "jarJar"));
@@ -0,0 +1,128 @@
+package net.neoforged.moddevgradle.internal.utils;
+
+import com.google.gson.GsonBuilder;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Measures how long the expensive operations of ModDevGradle take, such as running NFRT, resolving Jar-in-Jar
+ * metadata or preparing runs.
+ * <p>
+ * Every operation is logged on the info level. When the Gradle property {@code neoForge.metrics} is set to true,
+ * all operations of a build are also written to a JSON report in {@code moddev/metrics} of the build directory of
+ * the root project.
+ * <p>
+ * Operations that wait for shared resources, such as NFRT invocations waiting for a lock or a job slot, report the
+ * time spent waiting separately from their duration.
+ */
+public abstract class ModDevMetrics implements BuildService<ModDevMetrics.Parameters>, AutoCloseable {
+    private static final Logger LOG = Logging.getLogger(ModDevMetrics.class);
+
+    private static final String NAME = "modDevMetrics";
+
+    private static final DateTimeFormatter REPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final List<Measurement> measurements = new ArrayList<>();
+
+    public interface Parameters extends BuildServiceParameters {
+        Property<Boolean> getWriteReport();
+
+        DirectoryProperty getReportDirectory();
+    }
+
+    /**
+     * Registers the service once per build.
+     */
+    public static Provider<ModDevMetrics> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(NAME, ModDevMetrics.class, spec -> {
+            spec.getParameters().getWriteReport().set(PropertyUtils.getBooleanProperty(project, "neoForge.metrics").orElse(false));
+            spec.getParameters().getReportDirectory().set(project.getRootProject().getLayout().getBuildDirectory().dir("moddev/metrics"));
+        });
+    }
+
+    /**
+     * Starts measuring an operation, which ends when the returned object is closed.
+     *
+     * @param name    What is being done, i.e. {@code nfrt} or {@code prepareRun}.
+     * @param subject What it is being done to, usually the path of the task.
+     */
+    public Operation start(String name, String subject) {
+        return new Operation(name, subject);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!getParameters().getWriteReport().get()) {
+            return;
+        }
+
+        List<Measurement> report;
+        synchronized (measurements) {
+            if (measurements.isEmpty()) {
+                return;
+            }
+            report = new ArrayList<>(measurements);
+        }
+
+        var reportFile = getParameters().getReportDirectory().file("metrics-" + LocalDateTime.now().format(REPORT_TIMESTAMP) + ".json").get().getAsFile();
+        var gson = new GsonBuilder().setPrettyPrinting().create();
+        FileUtils.writeStringSafe(reportFile.toPath(), gson.toJson(report), StandardCharsets.UTF_8);
+        LOG.lifecycle("Wrote ModDevGradle metrics to {}", reportFile);
+    }
+
+    public final class Operation implements AutoCloseable {
+        private final String name;
+        private final String subject;
+        private final long startTime = System.currentTimeMillis();
+        private final long startNanos = System.nanoTime();
+        private long workStartNanos = startNanos;
+        private final Map<String, Object> details = new LinkedHashMap<>();
+
+        private Operation(String name, String subject) {
+            this.name = name;
+            this.subject = subject;
+        }
+
+        /**
+         * Records additional information about the operation, i.e. how many bytes it processed.
+         */
+        public Operation detail(String key, Object value) {
+            details.put(key, value);
+            return this;
+        }
+
+        /**
+         * Marks that the operation stopped waiting for shared resources and started its actual work. The time
+         * until then is reported as the wait time, and is not part of the duration.
+         */
+        public void startWork() {
+            workStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public void close() {
+            var waitMillis = (workStartNanos - startNanos) / 1_000_000;
+            var durationMillis = (System.nanoTime() - workStartNanos) / 1_000_000;
+            LOG.info("{} of {} took {} ms after waiting {} ms {}", name, subject, durationMillis, waitMillis, details);
+            synchronized (measurements) {
+                measurements.add(new Measurement(name, subject, startTime, waitMillis, durationMillis, details));
+            }
+        }
+    }
+
+    private record Measurement(String operation, String subject, long startTime, long waitMillis, long durationMillis, Map<String, Object> details) {}
+}
@@ -21,4 +21,15 @@ public final class PropertyUtils {
                     }
                 });
     }
+
+    public static Provider<Integer> getIntProperty(Project project, String propertyName) {
+        return project.getProviders().gradleProperty(propertyName)
+                .map(value -> {
+                    try {
+                        return Integer.valueOf(value);
+                    } catch (NumberFormatException e) {
+                        throw new GradleException("Gradle Property " + propertyName + " is not set to a number: '" + value + "'");
+                    }
+                });
+    }
 }
@@ -16,6 +16,7 @@ import net.neoforged.jarjar.metadata.MetadataIOHandler;
 import net.neoforged.moddevgradle.internal.jarjar.JarJarArtifacts;
 import net.neoforged.moddevgradle.internal.jarjar.ResolvedJarJarArtifact;
 import net.neoforged.moddevgradle.internal.utils.FileUtils;
+import net.neoforged.moddevgradle.internal.utils.ModDevMetrics;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
@@ -28,8 +29,10 @@ import org.gradle.api.attributes.java.TargetJvmVersion;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.ProjectLayout;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.InputFiles;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Nested;
@@ -57,19 +60,30 @@ public abstract class JarJar extends DefaultTask {
     @ApiStatus.Internal
     protected abstract ObjectFactory getObjects();
 
+    @Inject
+    @ApiStatus.Internal
+    protected abstract ProjectLayout getLayout();
+
     @OutputDirectory
     public abstract DirectoryProperty getOutputDirectory();
 
     @Internal
     public abstract DirectoryProperty getBuildDirectory();
 
+    /**
+     * Set by the Jar-in-Jar plugin. If unset, resolving the metadata is not measured.
+     */
+    @Internal
+    @ApiStatus.Internal
+    public abstract Property<ModDevMetrics> getMetrics();
+
     private final FileSystemOperations fileSystemOperations;
 
     @Inject
     public JarJar(FileSystemOperations fileSystemOperations) {
         this.fileSystemOperations = fileSystemOperations;
-        this.getOutputDirectory().convention(getProject().getLayout().getBuildDirectory().dir("generated/" + getName()));
-        this.getBuildDirectory().convention(getProject().getLayout().getBuildDirectory());
+        this.getOutputDirectory().convention(getLayout().getBuildDirectory().dir("generated/" + getName()));
+        this.getBuildDirectory().convention(getLayout().getBuildDirectory());
         setGroup(DEFAULT_GROUP);
     }
 
@@ -108,7 +122,15 @@ public abstract class JarJar extends DefaultTask {
 
     @TaskAction
     protected void run() throws IOException {
-        List<ResolvedJarJarArtifact> includedJars = new ArrayList<>(getJarJarArtifacts().getResolvedArtifacts().get());
+        List<ResolvedJarJarArtifact> includedJars;
+        if (getMetrics().isPresent()) {
+            try (var operation = getMetrics().get().start("jarJarMetadata", getPath())) {
+                includedJars = new ArrayList<>(getJarJarArtifacts().getResolvedArtifacts().get());
+                operation.detail("artifacts", includedJars.size());
+            }
+        } else {
+            includedJars = new ArrayList<>(getJarJarArtifacts().getResolvedArtifacts().get());
+        }
         fileSystemOperations.delete(spec -> spec.delete(getOutputDirectory()));
 
         var artifactFiles = new ArrayList<>(includedJars.stream().map(ResolvedJarJarArtifact::getFile).toList());
@@ -187,9 +209,9 @@ public abstract class JarJar extends DefaultTask {
     }
 
     public void configuration(Configuration jarJarConfiguration) {
+        // The input files carry the task dependencies of the configuration
         getInputFiles().from(jarJarConfiguration);
         getJarJarArtifacts().configuration(jarJarConfiguration);
-        dependsOn(jarJarConfiguration);
     }
 
     public void setConfigurations(Collection<? extends Configuration> configurations) {
@@ -197,7 +219,6 @@ public abstract class JarJar extends DefaultTask {
         newConfig.from(configurations.toArray());
         getInputFiles().setFrom(newConfig);
         getJarJarArtifacts().setConfigurations(configurations);
-        configurations.forEach(this::dependsOn);
     }
 
     private Path getJarJarMetadataPath() {
@@ -254,14 +254,57 @@ public abstract class CreateMinecraftArtifacts extends NeoFormRuntimeTask {
     @ApiStatus.Experimental
     public abstract Property<Boolean> getIncludeResourcesInGameJar();
 
+    /**
+     * The memory in megabytes that is reserved for this task from the memory budget shared by all NFRT invocations
+     * of the build. It covers NFRT itself and the tools it starts, such as the decompiler.
+     * <p>
+     * Defaults to the Gradle property {@code neoForge.neoFormRuntime.jobMemory}, or a value derived from the
+     * memory of the machine.
+     */
+    @Internal
+    public abstract Property<Integer> getJobMemory();
+
+    /**
+     * The maximum heap size of NFRT in megabytes, which recompiles the game in its own JVM.
+     * <p>
+     * If set, it has to be smaller than the {@linkplain #getJobMemory() job memory}, since the rest of the job memory
+     * is left to the tools NFRT starts, such as the decompiler.
+     * If not set, NFRT uses the default maximum heap size of the JVM, which the job memory only approximates.
+     */
+    @Internal
+    public abstract Property<Integer> getMaxHeap();
+
+    /**
+     * The number of processors visible to NFRT itself, which limits how many threads the
+     * {@linkplain #getUseEclipseCompiler() Eclipse compiler} uses to recompile the game. Javac always compiles on
+     * a single thread.
+     * <p>
+     * If not set, NFRT sees all processors of the machine.
+     */
+    @Internal
+    public abstract Property<Integer> getRecompileThreads();
+
     @Inject
     protected abstract Problems getProblems();
 
+    @Override
+    @Internal
+    @ApiStatus.Internal
+    protected NeoFormRuntimeScheduler.JobResources getJobResources() {
+        return new NeoFormRuntimeScheduler.JobResources(
+                getJobMemory().getOrNull(),
+                getMaxHeap().getOrNull(),
+                getRecompileThreads().getOrNull());
+    }
+
     @TaskAction
     public void createArtifacts() {
         if (getIncludeNeoForgeInGameJar().get() && getIncludeResourcesInGameJar().get()) {
             throw new InvalidUserCodeException("Cannot enable both includeNeoForgeInGameJar and includeResourcesInGameJar, since Minecraft and NeoForge resources clash.");
         }
+        requirePositive("jobMemory", getJobMemory());
+        requirePositive("maxHeap", getMaxHeap());
+        requirePositive("recompileThreads", getRecompileThreads());
 
         var args = new ArrayList<String>();
         args.add("run");
@@ -400,6 +443,12 @@ public abstract class CreateMinecraftArtifacts extends NeoFormRuntimeTask {
         }
     }
 
+    private static void requirePositive(String name, Property<Integer> property) {
+        if (property.isPresent() && property.get() < 1) {
+            throw new InvalidUserCodeException(name + " has to be at least 1, but is " + property.get());
+        }
+    }
+
     private void reportProblems(File problemsReport) {
         if (!problemsReport.exists()) {
             return; // Not created -> nothing to report
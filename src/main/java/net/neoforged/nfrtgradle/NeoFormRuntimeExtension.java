@@ -22,6 +22,8 @@ public abstract class NeoFormRuntimeExtension {
         getVerbose().convention(PropertyUtils.getBooleanProperty(project, "neoForge.neoFormRuntime.verbose").orElse(false));
         getAnalyzeCacheMisses().convention(PropertyUtils.getBooleanProperty(project, "neoForge.neoFormRuntime.analyzeCacheMisses").orElse(false));
         getLauncherManifestUrl().convention(PropertyUtils.getStringProperty(project, "neoForge.neoFormRuntime.launcherManifestUrl"));
+        getMaxHeap().convention(PropertyUtils.getIntProperty(project, "neoForge.neoFormRuntime.maxHeap"));
+        getRecompileThreads().convention(PropertyUtils.getIntProperty(project, "neoForge.neoFormRuntime.recompileThreads"));
     }
 
     /**
@@ -75,4 +77,22 @@ public abstract class NeoFormRuntimeExtension {
      * <b>Gradle property:</b> {@code neoForge.neoFormRuntime.launcherManifestUrl}.
      */
     public abstract Property<String> getLauncherManifestUrl();
+
+    /**
+     * The maximum heap size of NFRT in megabytes when it creates the Minecraft artifacts. If set, it has to be
+     * smaller than the memory reserved for each NFRT invocation ({@code neoForge.neoFormRuntime.jobMemory}), since the
+     * rest of that memory is left to the decompiler.
+     * <p>
+     * <b>Default:</b> not set, NFRT uses the default maximum heap size of the JVM<br>
+     * <b>Gradle property:</b> {@code neoForge.neoFormRuntime.maxHeap}.
+     */
+    public abstract Property<Integer> getMaxHeap();
+
+    /**
+     * The number of threads NFRT may use to recompile Minecraft. Only the Eclipse compiler uses more than one.
+     * <p>
+     * <b>Default:</b> not set, NFRT sees all processors of the machine<br>
+     * <b>Gradle property:</b> {@code neoForge.neoFormRuntime.recompileThreads}.
+     */
+    public abstract Property<Integer> getRecompileThreads();
 }
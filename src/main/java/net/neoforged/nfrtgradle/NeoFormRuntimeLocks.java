@@ -0,0 +1,64 @@
+package net.neoforged.nfrtgradle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Serializes NFRT invocations that would do the same work within a build.
+ * <p>
+ * Several projects commonly request the same Minecraft artifacts, for example when an IDE synchronizes a
+ * multi-project build with parallel execution enabled. Without coordination, each of them would run the same
+ * steps at the same time. By letting identical invocations wait for each other, only the first one does the work
+ * and the others are served from the NFRT cache.
+ */
+@ApiStatus.Internal
+public abstract class NeoFormRuntimeLocks implements BuildService<BuildServiceParameters.None> {
+    static final String NAME = "neoFormRuntimeLocks";
+
+    /**
+     * Options whose value is specific to the task that runs NFRT, and doesn't change the work NFRT does.
+     */
+    private static final Set<String> TASK_SPECIFIC_OPTIONS = Set.of("--work-dir", "--problems-report", "--artifact-manifest");
+
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public void runExclusively(List<String> args, Runnable action) {
+        var lock = locks.computeIfAbsent(getWorkKey(args), ignored -> new ReentrantLock());
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Builds a key from the NFRT arguments that is equal for invocations doing the same work.
+     * If two invocations are wrongly given different keys, they simply run concurrently as before.
+     */
+    static String getWorkKey(List<String> args) {
+        var key = new ArrayList<String>(args.size());
+        for (var i = 0; i < args.size(); i++) {
+            var arg = args.get(i);
+            key.add(arg);
+            if (i + 1 < args.size()) {
+                if (TASK_SPECIFIC_OPTIONS.contains(arg)) {
+                    i++;
+                } else if (arg.equals("--write-result")) {
+                    // Keep the id of the result, but not where it is written to
+                    var result = args.get(++i);
+                    var separator = result.indexOf(':');
+                    key.add(separator != -1 ? result.substring(0, separator) : result);
+                }
+            }
+        }
+        return String.join("\n", key);
+    }
+}
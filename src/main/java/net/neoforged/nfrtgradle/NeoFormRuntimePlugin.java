@@ -48,6 +48,8 @@ public class NeoFormRuntimePlugin implements Plugin<Project> {
             task.getEnableCache().set(extension.getEnableCache());
             task.getAnalyzeCacheMisses().set(extension.getAnalyzeCacheMisses());
             task.getUseEclipseCompiler().set(extension.getUseEclipseCompiler());
+            task.getMaxHeap().set(extension.getMaxHeap());
+            task.getRecompileThreads().set(extension.getRecompileThreads());
         });
     }
 }
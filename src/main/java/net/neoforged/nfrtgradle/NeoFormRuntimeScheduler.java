@@ -0,0 +1,191 @@
+package net.neoforged.nfrtgradle;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+import net.neoforged.moddevgradle.internal.utils.PropertyUtils;
+import org.gradle.api.GradleException;
+import org.gradle.api.InvalidUserCodeException;
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Limits how many memory intensive NFRT invocations, such as {@link CreateMinecraftArtifacts}, run at the same time.
+ * <p>
+ * Builds that compile against several Minecraft versions have one of these tasks per version. Each of them starts
+ * NFRT, which in turn starts the decompiler in another JVM. Gradle would run as many of them in parallel as it has
+ * workers, which can exhaust the memory of the machine. Instead, each invocation reserves memory from a budget
+ * shared by the build, and waits until enough of it is available.
+ * <p>
+ * Limits that are not configured are derived from the machine when the service is created, which happens when the
+ * first invocation runs. They are not part of the configuration cache, so a cached configuration adapts to the
+ * machine it runs on.
+ */
+@ApiStatus.Internal
+public abstract class NeoFormRuntimeScheduler implements BuildService<NeoFormRuntimeScheduler.Parameters> {
+    private static final Logger LOG = Logging.getLogger(NeoFormRuntimeScheduler.class);
+
+    static final String NAME = "neoFormRuntimeScheduler";
+
+    /**
+     * The smallest and largest amount of memory reserved for a single invocation by default, in megabytes.
+     */
+    static final int MIN_JOB_MEMORY = 2048;
+    static final int MAX_JOB_MEMORY = 6144;
+
+    private final int processors = Runtime.getRuntime().availableProcessors();
+
+    private final int maxParallelJobs;
+    private final int memoryBudget;
+    private final int jobMemory;
+
+    private int runningJobs;
+    private long reservedMemory;
+
+    public interface Parameters extends BuildServiceParameters {
+        /**
+         * How many invocations may run at the same time.
+         * Defaults to {@linkplain #getDefaultMaxParallelJobs(int) a quarter of the processors}.
+         */
+        Property<Integer> getMaxParallelJobs();
+
+        /**
+         * The memory in megabytes that all running invocations may use together.
+         * Defaults to {@linkplain #getDefaultMemoryBudget(long) half of the physical memory}.
+         */
+        Property<Integer> getMemoryBudget();
+
+        /**
+         * The memory in megabytes reserved for each invocation. It covers NFRT itself and the tools that NFRT starts
+         * in their own JVM, such as the decompiler.
+         * Defaults to {@linkplain #getDefaultJobMemory(int, int) the budget divided between the parallel invocations}.
+         */
+        Property<Integer> getJobMemory();
+    }
+
+    public NeoFormRuntimeScheduler() {
+        var parameters = getParameters();
+        maxParallelJobs = parameters.getMaxParallelJobs().getOrElse(getDefaultMaxParallelJobs(processors));
+        memoryBudget = parameters.getMemoryBudget().getOrElse(getDefaultMemoryBudget(getPhysicalMemory()));
+        jobMemory = parameters.getJobMemory().getOrElse(getDefaultJobMemory(memoryBudget, maxParallelJobs));
+    }
+
+    /**
+     * The resources of an NFRT invocation. When requesting a job, a null memory is derived from the limits of the
+     * build. The other components are only passed to NFRT if they are set, otherwise the JVM defaults apply.
+     *
+     * @param memory           The memory in megabytes reserved from the budget of the build.
+     * @param maxHeap          The maximum heap size of NFRT in megabytes, or null to use the default of the JVM.
+     *                         If set, it has to leave the rest of the memory to the tools NFRT starts.
+     * @param recompileThreads The processors visible to NFRT itself, which recompiles the game, or null to use all of them.
+     */
+    public record JobResources(@Nullable Integer memory, @Nullable Integer maxHeap, @Nullable Integer recompileThreads) {}
+
+    /**
+     * Registers the service once per build. The limits can be overridden with Gradle properties, otherwise they are
+     * derived from the memory and processors of the machine.
+     */
+    public static Provider<NeoFormRuntimeScheduler> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(NAME, NeoFormRuntimeScheduler.class, spec -> {
+            var parameters = spec.getParameters();
+            parameters.getMemoryBudget().set(PropertyUtils.getIntProperty(project, "neoForge.neoFormRuntime.memoryBudget"));
+            parameters.getMaxParallelJobs().set(PropertyUtils.getIntProperty(project, "neoForge.neoFormRuntime.maxParallelJobs"));
+            parameters.getJobMemory().set(PropertyUtils.getIntProperty(project, "neoForge.neoFormRuntime.jobMemory"));
+        });
+    }
+
+    /**
+     * Runs an NFRT invocation as soon as a job slot and enough memory are available.
+     *
+     * @param subject   Describes the invocation in log messages, usually the path of the task.
+     * @param requested The resources requested by the invocation.
+     * @param action    Receives the resources that NFRT should be started with.
+     */
+    public void runJob(String subject, JobResources requested, Consumer<JobResources> action) {
+        var memory = requested.memory() != null ? requested.memory() : jobMemory;
+        // A job that is larger than the whole budget can still run, as long as it runs alone
+        var reservation = Math.min(memory, memoryBudget);
+        var resources = resolve(requested, memory);
+
+        synchronized (this) {
+            if (!canStart(reservation)) {
+                LOG.lifecycle("Waiting for {} other NFRT job(s) to finish before running {} ({} MB of {} MB reserved)",
+                        runningJobs, subject, reservedMemory, memoryBudget);
+            }
+            while (!canStart(reservation)) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new GradleException("Interrupted while waiting to run NFRT for " + subject, e);
+                }
+            }
+            runningJobs++;
+            reservedMemory += reservation;
+        }
+
+        try {
+            action.accept(resources);
+        } finally {
+            synchronized (this) {
+                runningJobs--;
+                reservedMemory -= reservation;
+                notifyAll();
+            }
+        }
+    }
+
+    private boolean canStart(int reservation) {
+        return runningJobs < maxParallelJobs && reservedMemory + reservation <= memoryBudget;
+    }
+
+    /**
+     * Half of the physical memory, but at least enough for a single job: {@code max(2048, physicalMemory / 2)} in
+     * megabytes. The other half is left for the Gradle daemon, the IDE and the rest of the system.
+     * <p>
+     * The free memory is not used, since it excludes the page cache, which the system gives up as needed.
+     * It is usually low on machines that have been running for a while, even if most of it could be used.
+     */
+    static int getDefaultMemoryBudget(long physicalMemory) {
+        return (int) Math.max(MIN_JOB_MEMORY, physicalMemory / 2 / (1024 * 1024));
+    }
+
+    /**
+     * The decompiler and the compiler use several threads each, so running more jobs than a quarter of the
+     * processors would mostly make them compete for the processors.
+     */
+    static int getDefaultMaxParallelJobs(int processors) {
+        return Math.max(1, processors / 4);
+    }
+
+    static JobResources resolve(JobResources requested, int memory) {
+        // The tools NFRT starts run next to it and need memory of their own
+        if (requested.maxHeap() != null && requested.maxHeap() >= memory) {
+            throw new InvalidUserCodeException("maxHeap (" + requested.maxHeap() + " MB) has to be smaller than the memory reserved for NFRT ("
+                    + memory + " MB), which also covers the decompiler. Increase jobMemory or decrease maxHeap.");
+        }
+        return new JobResources(memory, requested.maxHeap(), requested.recompileThreads());
+    }
+
+    /**
+     * The budget divided between the jobs that may run in parallel, clamped to
+     * {@code [MIN_JOB_MEMORY, MAX_JOB_MEMORY]}.
+     */
+    static int getDefaultJobMemory(int memoryBudget, int maxParallelJobs) {
+        return Math.max(MIN_JOB_MEMORY, Math.min(MAX_JOB_MEMORY, memoryBudget / maxParallelJobs));
+    }
+
+    private static long getPhysicalMemory() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof com.sun.management.OperatingSystemMXBean osBean) {
+            return osBean.getTotalMemorySize();
+        }
+        // The default maximum heap of the JVM is a quarter of the physical memory
+        return Runtime.getRuntime().maxMemory() * 4;
+    }
+}
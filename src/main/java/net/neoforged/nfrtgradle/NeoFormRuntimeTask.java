@@ -4,18 +4,22 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import net.neoforged.moddevgradle.internal.utils.IdeDetection;
+import net.neoforged.moddevgradle.internal.utils.ModDevMetrics;
 import net.neoforged.moddevgradle.internal.utils.NetworkSettingPassthrough;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.Classpath;
@@ -27,6 +31,7 @@ import org.gradle.jvm.toolchain.JavaLanguageVersion;
 import org.gradle.jvm.toolchain.JavaToolchainService;
 import org.gradle.process.ExecOperations;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Base task implementation for running the NFRT CLI, regardless of which sub-command is used.
@@ -99,6 +104,32 @@ public abstract class NeoFormRuntimeTask extends DefaultTask {
     @ApiStatus.Internal
     protected abstract DirectoryProperty getWorkDirectory();
 
+    /**
+     * Used to let identical NFRT invocations of different tasks wait for each other instead of doing the same work concurrently.
+     */
+    @Internal
+    @ApiStatus.Internal
+    protected abstract Property<NeoFormRuntimeLocks> getLocks();
+
+    /**
+     * Used to limit how many invocations {@linkplain #getJobResources() needing a lot of memory} run at the same time.
+     */
+    @Internal
+    @ApiStatus.Internal
+    protected abstract Property<NeoFormRuntimeScheduler> getScheduler();
+
+    @Internal
+    @ApiStatus.Internal
+    protected abstract Property<ModDevMetrics> getMetrics();
+
+    /**
+     * The console output of NFRT is also written to this file, to allow inspecting the step timings and
+     * the {@linkplain CreateMinecraftArtifacts#getAnalyzeCacheMisses() cache miss analysis} after the build.
+     * This defaults to {@code build/neoformruntime/logs/<task name>.log}.
+     */
+    @Internal
+    public abstract RegularFileProperty getOutputLog();
+
     public NeoFormRuntimeTask() {
         var project = getProject();
 
@@ -110,6 +141,7 @@ public abstract class NeoFormRuntimeTask extends DefaultTask {
 
         // Store temporary working directories in this projects build directory such that gradle clean removes them
         getWorkDirectory().convention(project.getLayout().getBuildDirectory().dir("tmp/neoformruntime"));
+        getOutputLog().convention(project.getLayout().getBuildDirectory().file("neoformruntime/logs/" + getName() + ".log"));
 
         // Run NFRT itself with Java 21
         getJavaExecutable().convention(getJavaToolchainService()
@@ -123,6 +155,31 @@ public abstract class NeoFormRuntimeTask extends DefaultTask {
         getInputs().property("artifacts", artifacts);
 
         getVerbose().convention(false);
+
+        var locks = project.getGradle().getSharedServices().registerIfAbsent(NeoFormRuntimeLocks.NAME, NeoFormRuntimeLocks.class, spec -> {});
+        getLocks().set(locks);
+        usesService(locks);
+
+        var scheduler = NeoFormRuntimeScheduler.register(project);
+        getScheduler().set(scheduler);
+        usesService(scheduler);
+
+        var metrics = ModDevMetrics.register(project);
+        getMetrics().set(metrics);
+        usesService(metrics);
+    }
+
+    /**
+     * The resources NFRT needs if this task runs work that needs a lot of memory and processors, such as decompiling
+     * the game, or null otherwise.
+     * These invocations are {@linkplain NeoFormRuntimeScheduler scheduled} so that they don't exhaust the memory
+     * of the machine when many of them run in parallel.
+     */
+    @Internal
+    @ApiStatus.Internal
+    @Nullable
+    protected NeoFormRuntimeScheduler.JobResources getJobResources() {
+        return null;
     }
 
     /**
@@ -158,6 +215,32 @@ public abstract class NeoFormRuntimeTask extends DefaultTask {
             realArgs.add("--emojis");
         }
 
+        var outputLog = getOutputLog().get().getAsFile();
+        try (var operation = getMetrics().get().start("nfrt", getPath());
+                var log = openOutputLog(outputLog)) {
+            operation.detail("command", args.isEmpty() ? "" : args.get(0));
+            operation.detail("outputLog", outputLog.getAbsolutePath());
+            var requestedResources = getJobResources();
+            // The lock has to be taken first. Otherwise, an invocation could occupy a job slot while waiting for the lock.
+            getLocks().get().runExclusively(realArgs, () -> {
+                if (requestedResources != null) {
+                    getScheduler().get().runJob(getPath(), requestedResources, resources -> {
+                        operation.startWork();
+                        operation.detail("resources", resources);
+                        javaexec(realArgs, resources, log);
+                    });
+                } else {
+                    operation.startWork();
+                    javaexec(realArgs, null, log);
+                }
+            });
+            operation.detail("resultBytes", getResultBytes(realArgs));
+        } catch (IOException e) {
+            throw new GradleException("Failed to write NFRT output log " + outputLog + ": " + e, e);
+        }
+    }
+
+    private void javaexec(List<String> args, @Nullable NeoFormRuntimeScheduler.JobResources resources, OutputStream log) {
         getExecOperations().javaexec(execSpec -> {
             // Pass through network properties
             execSpec.systemProperties(NetworkSettingPassthrough.getNetworkSystemProperties());
@@ -165,12 +248,45 @@ public abstract class NeoFormRuntimeTask extends DefaultTask {
             // See https://github.com/gradle/gradle/issues/28959
             execSpec.jvmArgs("-Dstdout.encoding=UTF-8", "-Dstderr.encoding=UTF-8");
 
+            if (resources != null) {
+                // The number of processors the JVM sees limits the threads of the compiler and the garbage collector
+                if (resources.recompileThreads() != null) {
+                    execSpec.jvmArgs("-XX:ActiveProcessorCount=" + resources.recompileThreads());
+                }
+                if (resources.maxHeap() != null) {
+                    execSpec.jvmArgs("-Xmx" + resources.maxHeap() + "m");
+                }
+            }
+
             execSpec.executable(getJavaExecutable().get());
             execSpec.classpath(getNeoFormRuntime());
-            execSpec.args(realArgs);
+            execSpec.args(args);
+
+            // Keep printing to the console, while also writing to the log
+            execSpec.setStandardOutput(new TeeOutputStream(execSpec.getStandardOutput(), log));
+            execSpec.setErrorOutput(new TeeOutputStream(execSpec.getErrorOutput(), log));
         });
     }
 
+    private static OutputStream openOutputLog(File outputLog) throws IOException {
+        Files.createDirectories(outputLog.toPath().getParent());
+        return new BufferedOutputStream(new FileOutputStream(outputLog));
+    }
+
+    /**
+     * Sums up the size of all results NFRT was asked to write.
+     */
+    private static long getResultBytes(List<String> args) {
+        long result = 0;
+        for (var i = 0; i + 1 < args.size(); i++) {
+            if (args.get(i).equals("--write-result")) {
+                var destination = args.get(++i);
+                result += new File(destination.substring(destination.indexOf(':') + 1)).length();
+            }
+        }
+        return result;
+    }
+
     /**
      * Add all incoming dependencies in the given configuration to the artifact manifest passed to NFRT.
      * This causes NFRT to use files from the configuration when trying to resolve the same
@@ -199,4 +315,42 @@ public abstract class NeoFormRuntimeTask extends DefaultTask {
         }
         return artifactManifest;
     }
+
+    /**
+     * Writes to two streams. Closing it closes neither of them, since the console stream is owned by Gradle
+     * and the log is closed after NFRT exits.
+     */
+    private static final class TeeOutputStream extends OutputStream {
+        private final OutputStream console;
+        private final OutputStream log;
+
+        TeeOutputStream(OutputStream console, OutputStream log) {
+            this.console = console;
+            this.log = log;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            console.write(b);
+            synchronized (log) {
+                log.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            console.write(b, off, len);
+            synchronized (log) {
+                log.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            console.flush();
+            synchronized (log) {
+                log.flush();
+            }
+        }
+    }
 }
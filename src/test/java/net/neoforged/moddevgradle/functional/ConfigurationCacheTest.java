@@ -0,0 +1,210 @@
+package net.neoforged.moddevgradle.functional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import javax.tools.ToolProvider;
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks that common tasks can be stored in the configuration cache, execute from the stored entry, and that the
+ * entry is reused afterward.
+ * <p>
+ * To keep the test fast, NFRT is replaced by a stub that writes empty results, which is enough for the tasks that
+ * create the Minecraft artifacts, prepare runs, compile the mod and run plain JUnit tests. Tasks that launch the game
+ * are only scheduled.
+ */
+public class ConfigurationCacheTest extends AbstractFunctionalTest {
+    private static final String STUB_NFRT_SOURCE = """
+            import java.io.IOException;
+            import java.nio.file.Files;
+            import java.nio.file.Path;
+            import java.util.zip.ZipEntry;
+            import java.util.zip.ZipOutputStream;
+
+            public class StubNeoFormRuntime {
+                public static void main(String[] args) throws IOException {
+                    for (var i = 0; i + 1 < args.length; i++) {
+                        switch (args[i]) {
+                            case "--write-result" -> {
+                                var destination = Path.of(args[i + 1].substring(args[i + 1].indexOf(':') + 1));
+                                Files.createDirectories(destination.getParent());
+                                try (var out = new ZipOutputStream(Files.newOutputStream(destination))) {
+                                    out.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+                                    out.write("Manifest-Version: 1.0\\n".getBytes());
+                                    out.closeEntry();
+                                }
+                            }
+                            case "--write-properties" -> {
+                                var destination = Path.of(args[i + 1]);
+                                Files.createDirectories(destination.getParent());
+                                var assetsRoot = destination.resolveSibling("assets").toAbsolutePath().toString().replace('\\\\', '/');
+                                Files.writeString(destination, "asset_index=17\\nassets_root=" + assetsRoot + "\\n");
+                            }
+                            case "--write-json" -> {
+                                var destination = Path.of(args[i + 1]);
+                                Files.createDirectories(destination.getParent());
+                                Files.writeString(destination, "{}");
+                            }
+                        }
+                    }
+                }
+            }
+            """;
+
+    @BeforeEach
+    void writeProject() throws IOException {
+        writeStubNeoFormRuntime();
+        writeProjectFile("src/main/java/testmod/TestMod.java", """
+                package testmod;
+
+                public class TestMod {}
+                """);
+        writeProjectFile("src/test/java/testmod/TestModTest.java", """
+                package testmod;
+
+                import org.junit.jupiter.api.Test;
+
+                class TestModTest {
+                    @Test
+                    void testModClassExists() {
+                        new TestMod();
+                    }
+                }
+                """);
+        writeGroovySettingsScript("rootProject.name = 'configuration-cache'");
+        writeBuildScript("");
+    }
+
+    /**
+     * The unit test integration of NeoForge launches the game in the test JVM, which the NFRT stub cannot provide.
+     * It is only enabled where the test files are prepared, so that the other tests can run plain JUnit tests.
+     */
+    private void writeBuildScript(String additionalNeoForgeConfig) throws IOException {
+        writeGroovyBuildScript("""
+                plugins {
+                    id "net.neoforged.moddev"
+                }
+                repositories {
+                    mavenCentral()
+                }
+                dependencies {
+                    neoFormRuntimeTool files('nfrt-stub.jar')
+                    testImplementation 'org.junit.jupiter:junit-jupiter:5.10.2'
+                    testRuntimeOnly 'org.junit.platform:junit-platform-launcher'
+                }
+                test {
+                    useJUnitPlatform()
+                }
+                neoForge {
+                    version = "{DEFAULT_NEOFORGE_VERSION}"
+                    mods {
+                        testmod {
+                            sourceSet sourceSets.main
+                        }
+                    }
+                    runs {
+                        client {
+                            client()
+                        }
+                        data {
+                            data()
+                        }
+                    }
+                    {0}
+                }
+                """, additionalNeoForgeConfig);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "createMinecraftArtifacts", "prepareClientRun", "writeClientLegacyClasspath", "jar", "test", "build" })
+    public void testConfigurationCacheIsReused(String task) {
+        var firstResult = runWithConfigurationCache(task);
+        assertThat(firstResult.getOutput()).contains("Configuration cache entry stored.");
+        assertThat(firstResult.task(":" + task).getOutcome()).isEqualTo(TaskOutcome.SUCCESS);
+        if (firstResult.task(":test") != null) {
+            assertThat(testProjectDir.toPath().resolve("build/test-results/test/TEST-testmod.TestModTest.xml")).exists();
+        }
+
+        var secondResult = runWithConfigurationCache(task);
+        assertThat(secondResult.getOutput()).contains("Reusing configuration cache.");
+        assertThat(secondResult.task(":" + task)).isNotNull();
+    }
+
+    @Test
+    public void testUnitTestPreparationReusesConfigurationCache() throws IOException {
+        writeBuildScript("""
+                unitTest {
+                    enable()
+                    testedMod = mods.testmod
+                }
+                """);
+
+        var firstResult = runWithConfigurationCache("prepareNeoForgeTestFiles");
+        assertThat(firstResult.getOutput()).contains("Configuration cache entry stored.");
+
+        var secondResult = runWithConfigurationCache("prepareNeoForgeTestFiles");
+        assertThat(secondResult.getOutput()).contains("Reusing configuration cache.");
+        assertThat(secondResult.task(":prepareNeoForgeTestFiles")).isNotNull();
+    }
+
+    /**
+     * Tasks that would launch the game can only be scheduled. This only checks that their task graph can be stored,
+     * not that they can execute from the stored entry.
+     */
+    @ParameterizedTest
+    @ValueSource(strings = { "runClient", "runAllData" })
+    public void testTaskGraphIsReused(String task) {
+        var firstResult = runWithConfigurationCache(task, "--dry-run");
+        assertThat(firstResult.getOutput()).contains("Configuration cache entry stored.");
+
+        var secondResult = runWithConfigurationCache(task, "--dry-run");
+        assertThat(secondResult.getOutput()).contains("Reusing configuration cache.");
+    }
+
+    private BuildResult runWithConfigurationCache(String... arguments) {
+        var allArguments = new ArrayList<>(List.of(arguments));
+        allArguments.add("--configuration-cache");
+        return GradleRunner.create()
+                .withPluginClasspath()
+                .withProjectDir(testProjectDir)
+                .withArguments(allArguments)
+                .build();
+    }
+
+    /**
+     * Compiles {@link #STUB_NFRT_SOURCE} into an executable jar, since NFRT is launched as one.
+     */
+    private void writeStubNeoFormRuntime() throws IOException {
+        var sourceDir = testProjectDir.toPath().resolve("nfrt-stub");
+        var sourceFile = sourceDir.resolve("StubNeoFormRuntime.java");
+        Files.createDirectories(sourceDir);
+        Files.writeString(sourceFile, STUB_NFRT_SOURCE);
+
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var exitCode = compiler.run(null, null, null, "-d", sourceDir.toString(), sourceFile.toString());
+        assertThat(exitCode).isZero();
+
+        var manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.MAIN_CLASS, "StubNeoFormRuntime");
+        try (var out = new JarOutputStream(Files.newOutputStream(testProjectDir.toPath().resolve("nfrt-stub.jar")), manifest)) {
+            out.putNextEntry(new ZipEntry("StubNeoFormRuntime.class"));
+            out.write(Files.readAllBytes(sourceDir.resolve("StubNeoFormRuntime.class")));
+            out.closeEntry();
+        }
+    }
+}
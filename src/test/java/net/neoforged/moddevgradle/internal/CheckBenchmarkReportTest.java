@@ -0,0 +1,43 @@
+package net.neoforged.moddevgradle.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CheckBenchmarkReportTest {
+    @Test
+    void testPercentile() {
+        var values = List.of(1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0, 8.0, 9.0, 10.0);
+        assertEquals(5.0, CheckBenchmarkReport.percentile(values, 50));
+        assertEquals(10.0, CheckBenchmarkReport.percentile(values, 95));
+        assertEquals(1.0, CheckBenchmarkReport.percentile(values, 0));
+    }
+
+    @Test
+    void testRegressionsWithinThresholdAreAccepted() {
+        var baseline = Map.of("msptP50", 10.0, "gcPauseTotalMillis", 100.0);
+        var report = Map.of("msptP50", 10.9, "gcPauseTotalMillis", 50.0);
+
+        assertThat(CheckBenchmarkReport.findRegressions(baseline, report, 0.1)).isEmpty();
+    }
+
+    @Test
+    void testRegressionsPastThresholdAreReported() {
+        var baseline = Map.of("msptP50", 10.0, "msptP99", 20.0);
+        var report = Map.of("msptP50", 12.0, "msptP99", 20.0);
+
+        assertThat(CheckBenchmarkReport.findRegressions(baseline, report, 0.1))
+                .containsExactly(" - msptP50: 12.00 (baseline: 10.00, +20.0%)");
+    }
+
+    @Test
+    void testMetricsMissingFromEitherReportAreIgnored() {
+        var baseline = Map.of("msptP50", 10.0, "gcPauseMaxMillis", 0.0);
+        var report = Map.of("gcPauseMaxMillis", 30.0, "allocationRateMbPerSecond", 500.0);
+
+        assertThat(CheckBenchmarkReport.findRegressions(baseline, report, 0.1)).isEmpty();
+    }
+}
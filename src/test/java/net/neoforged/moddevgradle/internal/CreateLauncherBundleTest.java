@@ -0,0 +1,110 @@
+package net.neoforged.moddevgradle.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import net.neoforged.moddevgradle.internal.utils.StringUtils;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CreateLauncherBundleTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLibrariesWithTheSameNameKeepTheirName() {
+        var usedPaths = new HashSet<String>();
+
+        assertThat(CreateLauncherBundle.getLibraryPath("lib.jar", usedPaths)).isEqualTo("lib.jar");
+        assertThat(CreateLauncherBundle.getLibraryPath("lib.jar", usedPaths)).isEqualTo("2/lib.jar");
+        assertThat(CreateLauncherBundle.getLibraryPath("lib.jar", usedPaths)).isEqualTo("3/lib.jar");
+        assertThat(CreateLauncherBundle.getLibraryPath("other.jar", usedPaths)).isEqualTo("other.jar");
+    }
+
+    @Test
+    void testRewritePathsOnlyReplacesWholePaths() {
+        var bundledPaths = Map.of(
+                "/cache/lib.jar", "/bundle/libraries/lib.jar",
+                "/project/build/classes/java/main", "/bundle/classes/1");
+
+        assertThat(CreateLauncherBundle.rewritePaths("-p /cache/lib.jar:/cache/lib.jar2", bundledPaths))
+                .isEqualTo("-p /bundle/libraries/lib.jar:/cache/lib.jar2");
+        assertThat(CreateLauncherBundle.rewritePaths("mod%%/project/build/classes/java/main/Mod.class", bundledPaths))
+                .isEqualTo("mod%%/bundle/classes/1/Mod.class");
+        assertThat(CreateLauncherBundle.rewritePaths("/project/build/classes/java/main2", bundledPaths))
+                .isEqualTo("/project/build/classes/java/main2");
+    }
+
+    @Test
+    void testArgumentsOnlyReferToTheBundle() throws IOException {
+        // Everything the launch needs is created outside the bundle, except for the assets
+        var outside = tempDir.resolve("outside");
+        var library = write(outside.resolve("cache/a/lib.jar"), "a");
+        var sameNameLibrary = write(outside.resolve("cache/b/lib.jar"), "b");
+        var module = write(outside.resolve("cache/module.jar"), "module");
+        var legacyLibrary = write(outside.resolve("cache/legacy.jar"), "legacy");
+        var classesDirectory = outside.resolve("project/build/classes/java/main");
+        write(classesDirectory.resolve("testmod/TestMod.class"), "class");
+        var legacyClasspathFile = write(outside.resolve("project/build/moddev/legacyClasspath.txt"),
+                legacyLibrary.toAbsolutePath() + "\n" + library.toAbsolutePath());
+        var log4jConfigFile = write(outside.resolve("project/build/moddev/log4j2.xml"), "<Configuration/>");
+        var vmArgsFile = write(outside.resolve("project/build/moddev/vmArgs.txt"), String.join("\n",
+                "-p",
+                RunUtils.escapeJvmArg(module.toAbsolutePath().toString()),
+                RunUtils.escapeJvmArg("-DlegacyClassPath.file=" + legacyClasspathFile.toAbsolutePath()),
+                RunUtils.escapeJvmArg("-Dlog4j2.configurationFile=" + log4jConfigFile.toAbsolutePath())));
+        var assetsDirectory = tempDir.resolve("assets");
+        var programArgsFile = write(outside.resolve("project/build/moddev/programArgs.txt"),
+                "--assetsDir\n" + RunUtils.escapeJvmArg(assetsDirectory.toAbsolutePath().toString()));
+        var bundleDirectory = tempDir.resolve("bundle");
+
+        var project = ProjectBuilder.builder().withProjectDir(tempDir.resolve("project").toFile()).build();
+        project.getPlugins().apply(JavaPlugin.class);
+        var modFolder = project.getObjects().newInstance(ModFolder.class);
+        modFolder.getFolders().from(classesDirectory.toFile());
+        var modFolders = project.getObjects().newInstance(ModFoldersProvider.class);
+        modFolders.getModFolders().put("testmod", modFolder);
+
+        var task = project.getTasks().register("createLauncherBundle", CreateLauncherBundle.class, spec -> {
+            spec.getWorkingDirectory().set(tempDir.resolve("run").toString());
+            spec.getJavaExecutable().set("java");
+            spec.getRuntimeClasspath().from(library.toFile(), sameNameLibrary.toFile(), classesDirectory.toFile());
+            spec.getModules().from(module.toFile());
+            spec.getLegacyClasspathFile().set(legacyClasspathFile.toFile());
+            spec.getLog4jConfigFile().set(log4jConfigFile.toFile());
+            spec.getVmArgsFile().set(vmArgsFile.toFile());
+            spec.getProgramArgsFile().set(programArgsFile.toFile());
+            spec.getModFolders().set(modFolders);
+            spec.getBundleDirectory().set(bundleDirectory.toFile());
+        }).get();
+        task.createBundle();
+
+        var jvmArgs = Files.readString(bundleDirectory.resolve(CreateLauncherBundle.JVM_ARGS_FILE), StringUtils.getNativeCharset());
+        var programArgs = Files.readString(bundleDirectory.resolve(CreateLauncherBundle.PROGRAM_ARGS_FILE), StandardCharsets.UTF_8);
+        var legacyClasspath = Files.readString(bundleDirectory.resolve(CreateLauncherBundle.LEGACY_CLASSPATH_FILE), StandardCharsets.UTF_8);
+        for (var content : List.of(jvmArgs, programArgs, legacyClasspath)) {
+            assertThat(content).doesNotContain(outside.toAbsolutePath().toString());
+            assertThat(content).doesNotContain(RunUtils.escapeJvmArg(outside.toAbsolutePath().toString()));
+        }
+        assertThat(jvmArgs).contains(bundleDirectory.resolve("libraries/lib.jar").toAbsolutePath().toString());
+        assertThat(jvmArgs).contains(bundleDirectory.resolve("libraries/2/lib.jar").toAbsolutePath().toString());
+        assertThat(programArgs).contains(assetsDirectory.toAbsolutePath().toString());
+        assertThat(bundleDirectory.resolve(CreateLauncherBundle.CLASSES_DIRECTORY + "/1/testmod/TestMod.class")).hasContent("class");
+        assertThat(legacyClasspath.split("\n")).allSatisfy(line -> assertThat(new File(line)).exists());
+    }
+
+    private static Path write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+        return path;
+    }
+}
@@ -0,0 +1,40 @@
+package net.neoforged.moddevgradle.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+
+class CreateMinecraftAbiJarTest {
+    @Test
+    void testPrivateMembersAndMethodBodiesAreStripped() {
+        var writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "net/minecraft/world/entity/Entity", null, "java/lang/Object", null);
+        writer.visitField(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "MAX_SIZE", "I", null, 16).visitEnd();
+        writer.visitField(Opcodes.ACC_PRIVATE, "level", "Lnet/minecraft/world/level/Level;", null, null).visitEnd();
+        var tick = writer.visitMethod(Opcodes.ACC_PUBLIC, "tick", "()V", null, null);
+        tick.visitCode();
+        tick.visitVarInsn(Opcodes.ALOAD, 0);
+        tick.visitMethodInsn(Opcodes.INVOKESPECIAL, "net/minecraft/world/entity/Entity", "baseTick", "()V", false);
+        tick.visitInsn(Opcodes.RETURN);
+        tick.visitMaxs(0, 0);
+        tick.visitEnd();
+        var baseTick = writer.visitMethod(Opcodes.ACC_PRIVATE, "baseTick", "()V", null, null);
+        baseTick.visitCode();
+        baseTick.visitInsn(Opcodes.RETURN);
+        baseTick.visitMaxs(0, 0);
+        baseTick.visitEnd();
+        writer.visitEnd();
+
+        var result = new ClassNode();
+        new ClassReader(CreateMinecraftAbiJar.stripClass(writer.toByteArray())).accept(result, 0);
+
+        assertThat(result.fields).extracting(field -> field.name).containsExactly("MAX_SIZE");
+        assertThat(result.fields.get(0).value).isEqualTo(16);
+        assertThat(result.methods).extracting(method -> method.name).containsExactly("tick");
+        assertThat(result.methods.get(0).instructions.size()).isZero();
+    }
+}
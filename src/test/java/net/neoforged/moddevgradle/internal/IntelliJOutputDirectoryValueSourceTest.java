@@ -0,0 +1,64 @@
+package net.neoforged.moddevgradle.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class IntelliJOutputDirectoryValueSourceTest {
+    private static final String GRADLE_XML = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project version="4">
+              <component name="GradleMigrationSettings" migrationVersion="1" />
+              <component name="GradleSettings">
+                <option name="linkedExternalProjectsSettings">
+                  <GradleProjectSettings>
+                    <option name="delegatedBuild" value="%s" />
+                    <option name="externalProjectPath" value="$PROJECT_DIR$" />
+                  </GradleProjectSettings>
+                </option>
+              </component>
+            </project>
+            """;
+
+    @TempDir
+    Path ideaDir;
+
+    @Test
+    void testDelegatedBuildHasNoOutputDirectory() throws IOException {
+        Files.writeString(ideaDir.resolve("gradle.xml"), GRADLE_XML.formatted("true"));
+
+        assertThat(IntelliJOutputDirectoryValueSource.readOutputDirectory(ideaDir.toFile())).isNull();
+    }
+
+    @Test
+    void testMissingProjectFilesHaveNoOutputDirectory() {
+        assertThat(IntelliJOutputDirectoryValueSource.readOutputDirectory(ideaDir.toFile())).isNull();
+    }
+
+    @Test
+    void testIdeaBuildDefaultsToOut() throws IOException {
+        Files.writeString(ideaDir.resolve("gradle.xml"), GRADLE_XML.formatted("false"));
+
+        assertThat(IntelliJOutputDirectoryValueSource.readOutputDirectory(ideaDir.toFile())).isEqualTo("//$PROJECT_DIR$/out");
+    }
+
+    @Test
+    void testIdeaBuildUsesConfiguredOutput() throws IOException {
+        Files.writeString(ideaDir.resolve("gradle.xml"), GRADLE_XML.formatted("false"));
+        Files.writeString(ideaDir.resolve("misc.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project version="4">
+                  <component name="ExternalStorageConfigurationManager" enabled="true" />
+                  <component name="ProjectRootManager" version="2" languageLevel="JDK_21" project-jdk-name="21" project-jdk-type="JavaSDK">
+                    <output url="file://$PROJECT_DIR$/classes" />
+                  </component>
+                </project>
+                """);
+
+        assertThat(IntelliJOutputDirectoryValueSource.readOutputDirectory(ideaDir.toFile())).isEqualTo("//$PROJECT_DIR$/classes");
+    }
+}
@@ -5,12 +5,17 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Set;
+import java.util.stream.IntStream;
 import net.neoforged.moddevgradle.AbstractProjectBuilderTest;
 import net.neoforged.moddevgradle.dsl.NeoForgeExtension;
+import net.neoforged.moddevgradle.dsl.RunModel;
 import net.neoforged.moddevgradle.internal.utils.ExtensionUtils;
 import net.neoforged.moddevgradle.internal.utils.VersionCapabilitiesInternal;
+import net.neoforged.nfrtgradle.CreateMinecraftArtifacts;
 import org.gradle.api.InvalidUserCodeException;
 import org.gradle.api.Task;
+import org.gradle.api.internal.TaskInternal;
+import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.plugins.JavaPluginExtension;
 import org.gradle.api.tasks.SourceSet;
 import org.gradle.jvm.toolchain.JavaLanguageVersion;
@@ -78,6 +83,174 @@ public class ModDevPluginTest extends AbstractProjectBuilderTest {
         assertContainsModdingRuntimeDependencies("21.11.0", testSourceSet.getRuntimeClasspathConfigurationName());
     }
 
+    @Test
+    void testCombinedGameJarIsOnlyCreatedForIntelliJ() {
+        extension.enable(settings -> {
+            settings.setVersion("21.11.0");
+            settings.setDisableRecompilation(false);
+        });
+
+        var createArtifacts = (CreateMinecraftArtifacts) project.getTasks().getByName("createMinecraftArtifacts");
+        assertThat(createArtifacts.getGameJarArtifact().isPresent()).isTrue();
+        assertThat(createArtifacts.getGameJarWithSourcesArtifact().isPresent()).isFalse();
+    }
+
+    @Test
+    void testDeferSources() {
+        extension.enable(settings -> {
+            settings.setVersion("21.11.0");
+            settings.setDisableRecompilation(false);
+            settings.setDeferSources(true);
+        });
+
+        // The game jar for compiling is created without recompilation
+        var createArtifacts = (CreateMinecraftArtifacts) project.getTasks().getByName("createMinecraftArtifacts");
+        assertThat(createArtifacts.getDisableRecompilation().get()).isTrue();
+        assertThat(createArtifacts.getGameSourcesArtifact().isPresent()).isFalse();
+
+        // While the sources are created separately
+        var createSources = (CreateMinecraftArtifacts) project.getTasks().getByName("createMinecraftSources");
+        assertThat(createSources.getDisableRecompilation().get()).isFalse();
+        assertThat(createSources.getGameSourcesArtifact().isPresent()).isTrue();
+        assertThat(createSources.getGameJarArtifact().isPresent()).isFalse();
+
+        var compileClasspath = project.getConfigurations().getByName(mainSourceSet.getCompileClasspathConfigurationName());
+        assertThat(compileClasspath.getBuildDependencies().getDependencies(null))
+                .extracting(Task::getName)
+                .containsOnly("createMinecraftArtifacts");
+    }
+
+    @Test
+    void testCompileAgainstAbiJar() {
+        extension.enable(settings -> {
+            settings.setVersion("21.11.0");
+            settings.setCompileAgainstAbiJar(true);
+        });
+
+        // Only the compile classpath uses the ABI jar
+        assertThatDependencies(mainSourceSet.getCompileClasspathConfigurationName())
+                .contains("build/moddev/artifacts/neoforge-21.11.0-abi.jar")
+                .doesNotContain("build/moddev/artifacts/neoforge-21.11.0.jar");
+        assertThatDependencies(mainSourceSet.getRuntimeClasspathConfigurationName())
+                .contains("build/moddev/artifacts/neoforge-21.11.0.jar")
+                .doesNotContain("build/moddev/artifacts/neoforge-21.11.0-abi.jar");
+    }
+
+    @Test
+    void testUnitTestShardsAreRegistered() {
+        extension.setVersion("21.11.0");
+        extension.getUnitTest().getShards().set(3);
+        extension.getUnitTest().enable();
+
+        ((ProjectInternal) project).evaluate();
+
+        assertThat(project.getTasks().getNames())
+                .contains("testShard2", "testShard3")
+                .doesNotContain("testShard1", "testShard4");
+    }
+
+    @Test
+    void testTestShardsPartitionTestClasses() {
+        var shardCount = 3;
+        var shardSizes = new int[shardCount];
+        for (var i = 0; i < 100; i++) {
+            var testClass = "com/example/Test" + i + ".class";
+            var nestedClass = "com/example/Test" + i + "$Nested.class";
+            var shards = IntStream.range(0, shardCount)
+                    .filter(shard -> ModDevRunWorkflow.isInTestShard(testClass, shard, shardCount))
+                    .toArray();
+            // Every class is in exactly one shard, together with its nested classes
+            assertThat(shards).hasSize(1);
+            assertThat(ModDevRunWorkflow.isInTestShard(nestedClass, shards[0], shardCount)).isTrue();
+            shardSizes[shards[0]]++;
+        }
+        assertThat(shardSizes).doesNotContain(0);
+
+        // A single shard runs everything
+        assertThat(ModDevRunWorkflow.isInTestShard("com/example/Test0.class", 0, 1)).isTrue();
+    }
+
+    @Test
+    void testClientRunIsNeverUpToDate() {
+        extension.setVersion("21.11.0");
+        extension.getRuns().create("client", RunModel::client);
+
+        var runTask = (TaskInternal) project.getTasks().getByName("runClient");
+        assertThat(runTask.getOutputs().getFiles()).isEmpty();
+        assertThat(runTask.getOutputs().getUpToDateSpec().isSatisfiedBy(runTask)).isFalse();
+    }
+
+    @Test
+    void testCheckPerformanceOnlyRunsBenchmarks() {
+        extension.setVersion("21.11.0");
+        extension.getRuns().create("client", RunModel::client);
+        extension.getRuns().create("benchmark", RunModel::benchmark);
+
+        var checkTask = (CheckBenchmarkReport) project.getTasks().getByName("checkPerformance");
+        assertThat(project.getTasks().getNames()).noneMatch(name -> name.startsWith("check") && name.endsWith("Performance") && !name.equals("checkPerformance"));
+        assertThat(checkTask.getBenchmarks().get()).extracting(benchmark -> benchmark.getRunName().get()).containsExactly("benchmark");
+        assertThat(checkTask.getTaskDependencies().getDependencies(checkTask)).extracting(Task::getName).containsExactly("runBenchmark");
+    }
+
+    @Test
+    void testDataRunsCanRunInParallelByDefault() {
+        extension.setVersion("21.11.0");
+        extension.getRuns().create("client", RunModel::client);
+        extension.getRuns().create("clientData", RunModel::clientData);
+        extension.getRuns().create("serverData", RunModel::serverData);
+
+        var runAllData = (RunDataInParallel) project.getTasks().getByName("runAllData");
+        assertThat(runAllData.getDataRuns().get())
+                .extracting(dataRun -> dataRun.getGameDirectory().get().getAsFile())
+                .containsExactly(project.file("run-data/clientData"), project.file("run-data/serverData"));
+        assertThat(extension.getRuns().getByName("client").getGameDirectory().get().getAsFile()).isEqualTo(project.file("run"));
+    }
+
+    @Test
+    void testIncrementalDataRunDeclaresItsOutput() {
+        extension.setVersion("21.11.0");
+        var outputDirectory = project.file("src/generated/data");
+        extension.getRuns().create("data", run -> {
+            run.data();
+            run.getProgramArguments().addAll("--output", outputDirectory.getAbsolutePath());
+            run.getIncrementalData().set(true);
+        });
+
+        var runTask = (TaskInternal) project.getTasks().getByName("runData");
+        assertThat(runTask.getOutputs().getFiles()).containsExactly(outputDirectory);
+        assertThat(runTask.getOutputs().getUpToDateSpec().isSatisfiedBy(runTask)).isTrue();
+    }
+
+    @Test
+    void testIncrementalDataIsIgnoredForResourceDirectories() {
+        extension.setVersion("21.11.0");
+        var outputDirectory = project.file("src/generated/resources");
+        mainSourceSet.getResources().srcDir(outputDirectory);
+        extension.getRuns().create("data", run -> {
+            run.data();
+            run.getProgramArguments().addAll("--output", outputDirectory.getAbsolutePath());
+            run.getIncrementalData().set(true);
+        });
+
+        var runTask = (TaskInternal) project.getTasks().getByName("runData");
+        assertThat(runTask.getOutputs().getFiles()).isEmpty();
+        assertThat(runTask.getOutputs().getUpToDateSpec().isSatisfiedBy(runTask)).isFalse();
+    }
+
+    @Test
+    void testIncrementalDataCanBeEnabledAfterTheRunTaskIsCreated() {
+        extension.setVersion("21.11.0");
+        var outputDirectory = project.file("src/generated/data");
+        var run = extension.getRuns().create("data", RunModel::data);
+        var runTask = (TaskInternal) project.getTasks().getByName("runData");
+
+        run.getProgramArguments().addAll("--output", outputDirectory.getAbsolutePath());
+        run.getIncrementalData().set(true);
+
+        assertThat(runTask.getOutputs().getFiles()).containsExactly(outputDirectory);
+        assertThat(runTask.getOutputs().getUpToDateSpec().isSatisfiedBy(runTask)).isTrue();
+    }
+
     @Test
     void testGetVersion() {
         extension.setVersion("2.3.0");
@@ -0,0 +1,99 @@
+package net.neoforged.moddevgradle.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RunDataInParallelTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReplaceOutputDirectory() {
+        assertThat(RunDataInParallel.replaceOutputDirectory(List.of("--mod", "x", "--output", "a", "--all"), "b"))
+                .containsExactly("--mod", "x", "--output", "b", "--all");
+        assertThat(RunDataInParallel.replaceOutputDirectory(List.of("--output=a"), "b"))
+                .containsExactly("--output=b");
+        assertThat(RunDataInParallel.replaceOutputDirectory(List.of("--all"), "b"))
+                .containsExactly("--all", "--output", "b");
+    }
+
+    @Test
+    void testResolveOutputDirectory() {
+        var gameDirectory = tempDir.toFile();
+        var absoluteOutput = tempDir.resolve("out").toAbsolutePath().toString();
+
+        assertThat(RunDataInParallel.resolveOutputDirectory(gameDirectory, List.of("--output", absoluteOutput)))
+                .isEqualTo(new File(absoluteOutput));
+        assertThat(RunDataInParallel.resolveOutputDirectory(gameDirectory, List.of("--output", "relative")))
+                .isEqualTo(new File(gameDirectory, "relative"));
+        assertThat(RunDataInParallel.resolveOutputDirectory(gameDirectory, List.of()))
+                .isEqualTo(new File(gameDirectory, "generated"));
+    }
+
+    @Test
+    void testMergeCopiesFilesAndSkipsCache() throws IOException {
+        var staging = tempDir.resolve("staging");
+        var output = tempDir.resolve("output");
+        write(staging.resolve("data/mod/recipe/a.json"), "a");
+        write(staging.resolve(".cache/hash"), "cache");
+
+        var conflicts = RunDataInParallel.mergeOutputs(Map.of("clientData", staging), Map.of("clientData", output));
+
+        assertThat(conflicts).isEmpty();
+        assertThat(output.resolve("data/mod/recipe/a.json")).hasContent("a");
+        assertThat(output.resolve(".cache")).doesNotExist();
+    }
+
+    @Test
+    void testMergeReportsConflictingFiles() throws IOException {
+        var client = tempDir.resolve("client");
+        var server = tempDir.resolve("server");
+        var output = tempDir.resolve("output");
+        write(client.resolve("same.json"), "same");
+        write(server.resolve("same.json"), "same");
+        write(client.resolve("different.json"), "client");
+        write(server.resolve("different.json"), "server");
+
+        var stagingDirectories = new LinkedHashMap<String, Path>();
+        stagingDirectories.put("clientData", client);
+        stagingDirectories.put("serverData", server);
+        var conflicts = RunDataInParallel.mergeOutputs(stagingDirectories, Map.of("clientData", output, "serverData", output));
+
+        assertThat(conflicts).containsExactly(" - " + output.resolve("different.json").toAbsolutePath() + " (clientData, serverData)");
+        // Nothing is written if there are conflicts
+        assertThat(output.resolve("same.json")).doesNotExist();
+    }
+
+    @Test
+    void testMergeDeletesFilesThatAreNoLongerGenerated() throws IOException {
+        var staging = tempDir.resolve("staging");
+        var output = tempDir.resolve("output");
+        write(staging.resolve("kept.json"), "kept");
+        write(staging.resolve("removed.json"), "removed");
+        write(output.resolve("unrelated.txt"), "unrelated");
+        RunDataInParallel.mergeOutputs(Map.of("clientData", staging), Map.of("clientData", output));
+
+        Files.delete(staging.resolve("removed.json"));
+        var conflicts = RunDataInParallel.mergeOutputs(Map.of("clientData", staging), Map.of("clientData", output));
+
+        assertThat(conflicts).isEmpty();
+        assertThat(output.resolve("kept.json")).hasContent("kept");
+        assertThat(output.resolve("removed.json")).doesNotExist();
+        // Files that were not written by a merge are left alone
+        assertThat(output.resolve("unrelated.txt")).hasContent("unrelated");
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+    }
+}
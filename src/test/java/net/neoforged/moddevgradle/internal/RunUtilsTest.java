@@ -1,7 +1,11 @@
 package net.neoforged.moddevgradle.internal;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.List;
+import net.neoforged.moddevgradle.dsl.JvmPreset;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -20,4 +24,39 @@ class RunUtilsTest {
 
         assertEquals(escaped, RunUtils.escapeJvmArg(unescaped));
     }
+
+    @Test
+    public void testLowLatencyClientPresetDependsOnJavaVersion() {
+        assertThat(RunUtils.getJvmPresetArguments(JvmPreset.LOW_LATENCY_CLIENT, 17, List.of()))
+                .contains("-XX:+UseG1GC")
+                .doesNotContain("-XX:+UseZGC");
+        assertThat(RunUtils.getJvmPresetArguments(JvmPreset.LOW_LATENCY_CLIENT, 21, List.of()))
+                .contains("-XX:+UseZGC", "-XX:+ZGenerational");
+        assertThat(RunUtils.getJvmPresetArguments(JvmPreset.LOW_LATENCY_CLIENT, 25, List.of()))
+                .contains("-XX:+UseZGC")
+                .doesNotContain("-XX:+ZGenerational");
+    }
+
+    @Test
+    public void testPresetUsesJavaVersionOfLauncher() {
+        // The game requires Java 21, but is launched with a Java 25 toolchain
+        var launchJavaVersion = RunUtils.getLaunchJavaVersion(25, 21);
+        assertThat(launchJavaVersion).isEqualTo(25);
+        assertThat(RunUtils.getJvmPresetArguments(JvmPreset.LOW_LATENCY_CLIENT, launchJavaVersion, List.of()))
+                .contains("-XX:+UseZGC")
+                .doesNotContain("-XX:+ZGenerational");
+
+        // Without a known launcher, the Java version required by the game is used
+        var gameJavaVersion = RunUtils.getLaunchJavaVersion(null, 21);
+        assertThat(gameJavaVersion).isEqualTo(21);
+        assertThat(RunUtils.getJvmPresetArguments(JvmPreset.LOW_LATENCY_CLIENT, gameJavaVersion, List.of()))
+                .contains("-XX:+UseZGC", "-XX:+ZGenerational");
+    }
+
+    @Test
+    public void testPresetDoesNotSelectGcIfUserDid() {
+        assertThat(RunUtils.getJvmPresetArguments(JvmPreset.THROUGHPUT_SERVER, 21, List.of("-XX:+UseShenandoahGC")))
+                .noneMatch(arg -> arg.startsWith("-XX:+Use"))
+                .contains("-XX:+AlwaysPreTouch");
+    }
 }
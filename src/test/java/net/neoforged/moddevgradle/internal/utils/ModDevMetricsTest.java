@@ -0,0 +1,67 @@
+package net.neoforged.moddevgradle.internal.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModDevMetricsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReportContainsAllOperations() throws IOException {
+        var metrics = createMetrics(true);
+
+        try (var operation = metrics.start("nfrt", ":createMinecraftArtifacts")) {
+            operation.detail("command", "run");
+            operation.startWork();
+        }
+        try (var ignored = metrics.start("prepareRun", ":prepareClientRun")) {}
+        metrics.close();
+
+        var reportDirectory = tempDir.resolve("metrics");
+        try (var files = Files.list(reportDirectory)) {
+            var reports = files.toList();
+            assertThat(reports).hasSize(1);
+            assertThat(reports.get(0).getFileName().toString()).startsWith("metrics-").endsWith(".json");
+
+            var report = JsonParser.parseString(Files.readString(reports.get(0))).getAsJsonArray();
+            assertThat(report).hasSize(2);
+
+            var nfrt = report.get(0).getAsJsonObject();
+            assertThat(nfrt.get("operation").getAsString()).isEqualTo("nfrt");
+            assertThat(nfrt.get("subject").getAsString()).isEqualTo(":createMinecraftArtifacts");
+            assertThat(nfrt.get("waitMillis").getAsLong()).isNotNegative();
+            assertThat(nfrt.get("durationMillis").getAsLong()).isNotNegative();
+            assertThat(nfrt.getAsJsonObject("details").get("command").getAsString()).isEqualTo("run");
+
+            var prepareRun = report.get(1).getAsJsonObject();
+            assertThat(prepareRun.get("operation").getAsString()).isEqualTo("prepareRun");
+            assertThat(prepareRun.get("waitMillis").getAsLong()).isZero();
+        }
+    }
+
+    @Test
+    void testNoReportIsWrittenByDefault() throws IOException {
+        var metrics = createMetrics(false);
+
+        try (var ignored = metrics.start("prepareRun", ":prepareClientRun")) {}
+        metrics.close();
+
+        assertThat(tempDir.resolve("metrics")).doesNotExist();
+    }
+
+    private ModDevMetrics createMetrics(boolean writeReport) {
+        var project = ProjectBuilder.builder().withProjectDir(tempDir.resolve("project").toFile()).build();
+        return project.getGradle().getSharedServices().registerIfAbsent("modDevMetrics", ModDevMetrics.class, spec -> {
+            spec.getParameters().getWriteReport().set(writeReport);
+            spec.getParameters().getReportDirectory().set(tempDir.resolve("metrics").toFile());
+        }).get();
+    }
+}
@@ -9,6 +9,7 @@ import java.util.Set;
 import net.neoforged.moddevgradle.AbstractProjectBuilderTest;
 import net.neoforged.moddevgradle.internal.utils.ExtensionUtils;
 import net.neoforged.moddevgradle.legacyforge.dsl.LegacyForgeExtension;
+import net.neoforged.moddevgradle.legacyforge.dsl.ObfuscationExtension;
 import net.neoforged.moddevgradle.legacyforge.internal.LegacyForgeModDevPlugin;
 import org.gradle.api.InvalidUserCodeException;
 import org.gradle.api.Task;
@@ -124,6 +125,36 @@ public class LegacyModDevPluginTest extends AbstractProjectBuilderTest {
         assertNull(project.getTasks().findByName("reobfJar"));
     }
 
+    @Test
+    void testAssembleReobfuscatesJarByDefault() {
+        extension.setVersion(VERSION);
+
+        var assemble = project.getTasks().getByName("assemble");
+        assertThat(assemble.getTaskDependencies().getDependencies(assemble))
+                .extracting(Task::getName)
+                .contains("reobfJar");
+    }
+
+    @Test
+    void testReobfuscateOnlyWhenPublishing() {
+        var obfuscation = ExtensionUtils.getExtension(project, LegacyForgeModDevPlugin.OBFUSCATION_EXTENSION, ObfuscationExtension.class);
+        obfuscation.getReobfuscateOnlyWhenPublishing().set(true);
+        extension.setVersion(VERSION);
+
+        var assemble = project.getTasks().getByName("assemble");
+        assertThat(assemble.getTaskDependencies().getDependencies(assemble))
+                .extracting(Task::getName)
+                .doesNotContain("reobfJar");
+        var jar = project.getTasks().getByName("jar");
+        assertThat(jar.getFinalizedBy().getDependencies(jar)).isEmpty();
+
+        // The reobfuscated jar is still what gets published
+        var reobfRuntimeElements = project.getConfigurations().getByName("reobfRuntimeElements");
+        assertThat(reobfRuntimeElements.getBuildDependencies().getDependencies(null))
+                .extracting(Task::getName)
+                .containsOnly("reobfJar");
+    }
+
     private void assertDoesNotContainModdingDependencies(String configurationName) {
         assertThatDependencies(configurationName).doesNotContain(MODDING_COMPILE_DEPENDENCIES);
         assertThatDependencies(configurationName).doesNotContain(MODDING_RUNTIME_ONLY_DEPENDENCIES);
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import net.neoforged.moddevgradle.internal.utils.ExtensionUtils;
 import net.neoforged.moddevgradle.legacyforge.internal.LegacyForgeModDevPlugin;
+import net.neoforged.moddevgradle.legacyforge.tasks.GenerateMixinRefmap;
 import net.neoforged.moddevgradle.legacyforge.tasks.RemapJar;
 import org.gradle.jvm.tasks.Jar;
 import org.gradle.testfixtures.ProjectBuilder;
@@ -43,4 +44,27 @@ class MixinMappingTest {
         var mappings = remapJarTask.getRemapOperation().getMappings().getFiles();
         assertThat(mappings).containsOnly(namedToIntermediary, mixinApMappings);
     }
+
+    /**
+     * Tests that the mappings generated from compiled Mixin classes are added to the reobfuscation tasks,
+     * in place of those of the Mixin AP.
+     */
+    @Test
+    public void testGeneratedMixinMappingsArePropagatedToObfuscationTasks() {
+        var project = ProjectBuilder.builder().build();
+        project.getPlugins().apply(LegacyForgeModDevPlugin.class);
+
+        var sourceSets = ExtensionUtils.getSourceSets(project);
+        var mixinExtension = ExtensionUtils.getExtension(project, LegacyForgeModDevPlugin.MIXIN_EXTENSION, MixinExtension.class);
+        mixinExtension.addFromCompiledClasses(sourceSets.getByName("main"), "testmod.refmap.json");
+
+        ExtensionUtils.getExtension(project, LegacyForgeModDevPlugin.LEGACYFORGE_EXTENSION, LegacyForgeExtension.class).setVersion("1.20.1-47.11");
+
+        var generateTask = (GenerateMixinRefmap) project.getTasks().getByName("generateMixinRefmap");
+        var generatedMappings = project.getLayout().getBuildDirectory().file("mixin/testmod.refmap.json.mappings.tsrg").get().getAsFile();
+        assertThat(generateTask.getOutMappings().get().getAsFile()).isEqualTo(generatedMappings);
+
+        var remapJarTask = (RemapJar) project.getTasks().getByName("reobfJar");
+        assertThat(remapJarTask.getRemapOperation().getMappings().getFiles()).contains(generatedMappings);
+    }
 }
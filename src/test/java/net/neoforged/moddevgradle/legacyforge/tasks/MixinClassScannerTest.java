@@ -0,0 +1,156 @@
+package net.neoforged.moddevgradle.legacyforge.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+class MixinClassScannerTest {
+    private static final TsrgMappings MAPPINGS = TsrgMappings.parse(List.of(
+            "tsrg2 left right",
+            "net/minecraft/world/entity/Entity net/minecraft/world/entity/Entity",
+            "\tlevel f_19853_",
+            "\ttick ()V m_8119_",
+            "\tsetPos (DDD)V m_6034_",
+            "\tsetPos (Lnet/minecraft/world/phys/Vec3;)V m_146884_",
+            "\t\t0 o p_146885_",
+            "net/minecraft/world/entity/LivingEntity net/minecraft/world/entity/LivingEntity",
+            "\thurt (Lnet/minecraft/world/damagesource/DamageSource;F)Z m_6469_"));
+
+    @Test
+    void testNonMixinClassesAreIgnored() {
+        var writer = new ClassWriter(0);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "com/example/NotAMixin", null, "java/lang/Object", null);
+        writer.visitEnd();
+
+        assertThat(scan(writer.toByteArray())).isNull();
+    }
+
+    @Test
+    void testInjectorsAreMapped() {
+        var writer = createMixin("net/minecraft/world/entity/Entity");
+        var method = writer.visitMethod(Opcodes.ACC_PRIVATE, "onTick", "()V", null, null);
+        var inject = method.visitAnnotation("Lorg/spongepowered/asm/mixin/injection/Inject;", false);
+        var selectors = inject.visitArray("method");
+        selectors.visit(null, "tick");
+        selectors.visit(null, "setPos(DDD)V");
+        selectors.visit(null, "onlyInMod");
+        selectors.visitEnd();
+        var at = inject.visitAnnotation("at", "Lorg/spongepowered/asm/mixin/injection/At;");
+        at.visit("value", "INVOKE");
+        at.visit("target", "Lnet/minecraft/world/entity/Entity;setPos(Lnet/minecraft/world/phys/Vec3;)V");
+        at.visitEnd();
+        inject.visitEnd();
+        method.visitEnd();
+
+        var result = scan(writer.toByteArray());
+
+        assertThat(result).isNotNull();
+        assertThat(result.refmap()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "tick", "m_8119_()V",
+                "setPos(DDD)V", "m_6034_(DDD)V",
+                "Lnet/minecraft/world/entity/Entity;setPos(Lnet/minecraft/world/phys/Vec3;)V",
+                "Lnet/minecraft/world/entity/Entity;m_146884_(Lnet/minecraft/world/phys/Vec3;)V"));
+    }
+
+    @Test
+    void testAmbiguousSelectorsAreNotMapped() {
+        var writer = createMixin("net/minecraft/world/entity/Entity");
+        var method = writer.visitMethod(Opcodes.ACC_PRIVATE, "onSetPos", "()V", null, null);
+        var inject = method.visitAnnotation("Lorg/spongepowered/asm/mixin/injection/Inject;", false);
+        inject.visit("method", "setPos");
+        inject.visitEnd();
+        method.visitEnd();
+
+        var result = scan(writer.toByteArray());
+
+        assertThat(result).isNotNull();
+        assertThat(result.refmap()).isEmpty();
+    }
+
+    @Test
+    void testShadowsAreMappedInheritedFromSupertypes(@TempDir Path classpath) throws IOException {
+        var livingEntity = new ClassWriter(0);
+        livingEntity.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "net/minecraft/world/entity/LivingEntity", null, "net/minecraft/world/entity/Entity", null);
+        livingEntity.visitEnd();
+        var classFile = classpath.resolve("net/minecraft/world/entity/LivingEntity.class");
+        Files.createDirectories(classFile.getParent());
+        Files.write(classFile, livingEntity.toByteArray());
+
+        var writer = createMixin("net/minecraft/world/entity/LivingEntity");
+        writer.visitField(Opcodes.ACC_PRIVATE, "level", "Lnet/minecraft/world/level/Level;", null, null)
+                .visitAnnotation("Lorg/spongepowered/asm/mixin/Shadow;", false)
+                .visitEnd();
+        writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "tick", "()V", null, null)
+                .visitAnnotation("Lorg/spongepowered/asm/mixin/Shadow;", false)
+                .visitEnd();
+
+        MixinClassScanner.MixinClass result;
+        try (var hierarchy = new ClassHierarchy(List.of(classpath.toFile()))) {
+            result = new MixinClassScanner(MAPPINGS, hierarchy, warning -> {}).scan(writer.toByteArray());
+        }
+
+        assertThat(result).isNotNull();
+        assertThat(result.members()).containsExactly("level f_19853_", "tick ()V m_8119_");
+        assertThat(result.dependencies()).containsExactly("net/minecraft/world/entity/LivingEntity");
+    }
+
+    @Test
+    void testAccessorNamesAreInferred() {
+        var writer = createMixin("net/minecraft/world/entity/Entity");
+        writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "getLevel", "()Lnet/minecraft/world/level/Level;", null, null)
+                .visitAnnotation("Lorg/spongepowered/asm/mixin/gen/Accessor;", false)
+                .visitEnd();
+        writer.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "callTick", "()V", null, null)
+                .visitAnnotation("Lorg/spongepowered/asm/mixin/gen/Invoker;", false)
+                .visitEnd();
+
+        var result = scan(writer.toByteArray());
+
+        assertThat(result).isNotNull();
+        assertThat(result.refmap()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "level", "f_19853_:Lnet/minecraft/world/level/Level;",
+                "tick", "m_8119_()V"));
+    }
+
+    @Test
+    void testParseSelectors() {
+        assertThat(MixinClassScanner.MemberSelector.parse("tick"))
+                .isEqualTo(new MixinClassScanner.MemberSelector(null, "tick", null));
+        assertThat(MixinClassScanner.MemberSelector.parse("Load(Lfoo/Bar;)V"))
+                .isEqualTo(new MixinClassScanner.MemberSelector(null, "Load", "(Lfoo/Bar;)V"));
+        assertThat(MixinClassScanner.MemberSelector.parse("Lfoo/Bar;baz:I"))
+                .isEqualTo(new MixinClassScanner.MemberSelector("foo/Bar", "baz", "I"));
+        assertThat(MixinClassScanner.MemberSelector.parse("tick*")).isNull();
+    }
+
+    @Test
+    void testInferTargetName() {
+        assertThat(MixinClassScanner.inferTargetName("getLevel", "get", "set", "is")).isEqualTo("level");
+        assertThat(MixinClassScanner.inferTargetName("getMAX_SIZE", "get", "set", "is")).isEqualTo("MAX_SIZE");
+        assertThat(MixinClassScanner.inferTargetName("level", "get", "set", "is")).isNull();
+    }
+
+    private static ClassWriter createMixin(String target) {
+        var writer = new ClassWriter(0);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_ABSTRACT, "com/example/mixin/TestMixin", null, "java/lang/Object", null);
+        var mixin = writer.visitAnnotation("Lorg/spongepowered/asm/mixin/Mixin;", false);
+        var targets = mixin.visitArray("value");
+        targets.visit(null, Type.getObjectType(target));
+        targets.visitEnd();
+        mixin.visitEnd();
+        return writer;
+    }
+
+    private static MixinClassScanner.MixinClass scan(byte[] classBytes) {
+        return new MixinClassScanner(MAPPINGS, new ClassHierarchy(List.of()), warning -> {}).scan(classBytes);
+    }
+}
@@ -0,0 +1,29 @@
+package net.neoforged.nfrtgradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NeoFormRuntimeLocksTest {
+    @Test
+    void testTaskSpecificPathsAreIgnored() {
+        var first = List.of("--home-dir", "/home", "--work-dir", "/a/build/tmp", "run", "--neoforge", "1.0",
+                "--write-result", "compiled:/a/build/compiled.jar", "--problems-report", "/a/report.json");
+        var second = List.of("--home-dir", "/home", "--work-dir", "/b/build/tmp", "run", "--neoforge", "1.0",
+                "--write-result", "compiled:/b/build/compiled.jar", "--problems-report", "/b/report.json");
+
+        assertThat(NeoFormRuntimeLocks.getWorkKey(first)).isEqualTo(NeoFormRuntimeLocks.getWorkKey(second));
+    }
+
+    @Test
+    void testDifferentWorkHasDifferentKeys() {
+        var first = List.of("run", "--neoforge", "1.0", "--write-result", "compiled:/a/compiled.jar");
+        var otherVersion = List.of("run", "--neoforge", "2.0", "--write-result", "compiled:/a/compiled.jar");
+        var otherResult = List.of("run", "--neoforge", "1.0", "--write-result", "sources:/a/compiled.jar");
+
+        assertThat(NeoFormRuntimeLocks.getWorkKey(first))
+                .isNotEqualTo(NeoFormRuntimeLocks.getWorkKey(otherVersion))
+                .isNotEqualTo(NeoFormRuntimeLocks.getWorkKey(otherResult));
+    }
+}
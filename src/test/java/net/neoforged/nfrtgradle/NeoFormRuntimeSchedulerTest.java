@@ -0,0 +1,55 @@
+package net.neoforged.nfrtgradle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.gradle.api.InvalidUserCodeException;
+import org.junit.jupiter.api.Test;
+
+class NeoFormRuntimeSchedulerTest {
+    private static final long GB = 1024L * 1024 * 1024;
+
+    @Test
+    void testDefaultsForLaptop() {
+        var memoryBudget = NeoFormRuntimeScheduler.getDefaultMemoryBudget(8 * GB);
+        var maxParallelJobs = NeoFormRuntimeScheduler.getDefaultMaxParallelJobs(8);
+
+        assertThat(memoryBudget).isEqualTo(4096);
+        assertThat(maxParallelJobs).isEqualTo(2);
+        assertThat(NeoFormRuntimeScheduler.getDefaultJobMemory(memoryBudget, maxParallelJobs)).isEqualTo(2048);
+    }
+
+    @Test
+    void testDefaultsForLargeMachine() {
+        var memoryBudget = NeoFormRuntimeScheduler.getDefaultMemoryBudget(256 * GB);
+        var maxParallelJobs = NeoFormRuntimeScheduler.getDefaultMaxParallelJobs(64);
+
+        assertThat(maxParallelJobs).isEqualTo(16);
+        assertThat(NeoFormRuntimeScheduler.getDefaultJobMemory(memoryBudget, maxParallelJobs)).isEqualTo(NeoFormRuntimeScheduler.MAX_JOB_MEMORY);
+    }
+
+    @Test
+    void testDefaultsNeverGoBelowASingleJob() {
+        var memoryBudget = NeoFormRuntimeScheduler.getDefaultMemoryBudget(2 * GB);
+        var maxParallelJobs = NeoFormRuntimeScheduler.getDefaultMaxParallelJobs(2);
+
+        assertThat(memoryBudget).isEqualTo(NeoFormRuntimeScheduler.MIN_JOB_MEMORY);
+        assertThat(maxParallelJobs).isEqualTo(1);
+    }
+
+    @Test
+    void testRequestedResourcesOverrideDefaults() {
+        var defaults = NeoFormRuntimeScheduler.resolve(new NeoFormRuntimeScheduler.JobResources(null, null, null), 4096);
+        assertThat(defaults).isEqualTo(new NeoFormRuntimeScheduler.JobResources(4096, null, null));
+
+        var requested = NeoFormRuntimeScheduler.resolve(new NeoFormRuntimeScheduler.JobResources(null, 3000, 2), 4096);
+        assertThat(requested).isEqualTo(new NeoFormRuntimeScheduler.JobResources(4096, 3000, 2));
+    }
+
+    @Test
+    void testMaxHeapHasToLeaveMemoryForTools() {
+        assertThatThrownBy(() -> NeoFormRuntimeScheduler.resolve(new NeoFormRuntimeScheduler.JobResources(null, 4096, null), 4096))
+                .isInstanceOf(InvalidUserCodeException.class)
+                .hasMessageContaining("maxHeap (4096 MB)");
+    }
+}